@@ -1,5 +1,7 @@
 package com.tangtongda.open.commons.anotations;
 
+import org.apache.poi.ss.usermodel.HorizontalAlignment;
+
 import java.lang.annotation.*;
 
 /**
@@ -26,4 +28,46 @@ public @interface ExcelColumn {
    * @return col
    */
   int col() default 0;
+
+  /**
+   * other import header names of the column
+   *
+   * @return aliases
+   */
+  String[] aliases() default {};
+
+  /**
+   * match import headers ignoring case
+   *
+   * @return ignore case
+   */
+  boolean ignoreCase() default false;
+
+  /**
+   * match import headers ignoring all whitespace, eg: "学 号" matches "学号"
+   *
+   * @return ignore whitespace
+   */
+  boolean ignoreWhitespace() default false;
+
+  /**
+   * export cell horizontal alignment, GENERAL keeps excel default
+   *
+   * @return alignment
+   */
+  HorizontalAlignment align() default HorizontalAlignment.GENERAL;
+
+  /**
+   * export cell data format, eg: "0.00", "yyyy-MM-dd", empty keeps excel default
+   *
+   * @return format
+   */
+  String format() default "";
+
+  /**
+   * export column width in characters, 0 keeps excel default
+   *
+   * @return width
+   */
+  int width() default 0;
 }
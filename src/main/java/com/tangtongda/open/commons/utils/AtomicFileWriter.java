@@ -0,0 +1,152 @@
+package com.tangtongda.open.commons.utils;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link AtomicFileWriter} writes a local file through a temp file in the same directory that is
+ * moved over the target when complete, so readers never see a partial file and a failed write
+ * leaves the old file untouched
+ *
+ * @author <a href="mailto:tangtongda@gmail.com">Tino.Tang</a>
+ * @version ${project.version} - 2026/10/17
+ */
+final class AtomicFileWriter {
+
+  private static final int BUFFER_SIZE = 256 * 1024;
+
+  private AtomicFileWriter() {}
+
+  /** file content producer */
+  @FunctionalInterface
+  interface Content {
+
+    /**
+     * write the whole content, the stream is closed by the writer
+     *
+     * @param os target stream
+     * @throws IOException write exception
+     */
+    void writeTo(OutputStream os) throws IOException;
+  }
+
+  /**
+   * write a file atomically
+   *
+   * @param target target file, replaced if it exists
+   * @param content content producer
+   * @return bytes and duration
+   * @throws IOException write or move exception, the temp file is removed
+   */
+  static FileWriteResult write(Path target, Content content) throws IOException {
+    long start = System.nanoTime();
+    Path file = target.toAbsolutePath();
+    Path dir = file.getParent();
+    Files.createDirectories(dir);
+    Path temp = createTemp(dir, file.getFileName().toString());
+    try {
+      copyPermissions(file, temp);
+      long bytes;
+      try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+        // workbooks close the stream they write to, the channel stays open until it is synced
+        OutputStream os = new BufferedOutputStream(new ChannelOutputStream(channel), BUFFER_SIZE);
+        content.writeTo(os);
+        os.flush();
+        channel.force(false);
+        bytes = channel.size();
+      }
+      move(temp, file);
+      return new FileWriteResult(
+          file, bytes, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    } catch (IOException | RuntimeException e) {
+      Files.deleteIfExists(temp);
+      throw e;
+    }
+  }
+
+  /** unbuffered channel stream, close does not close the channel */
+  private static final class ChannelOutputStream extends OutputStream {
+
+    private final FileChannel channel;
+
+    private ChannelOutputStream(FileChannel channel) {
+      this.channel = channel;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+      write(new byte[] {(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+      ByteBuffer buffer = ByteBuffer.wrap(b, off, len);
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    }
+  }
+
+  /**
+   * create an empty temp file next to the target. Unlike {@link Files#createTempFile}, which makes
+   * it owner only, the file gets the default mode of the umask like a plain new file
+   *
+   * @param dir target directory
+   * @param name target file name
+   * @return temp file
+   * @throws IOException create exception
+   */
+  private static Path createTemp(Path dir, String name) throws IOException {
+    while (true) {
+      Path temp =
+          dir.resolve(
+              "." + name + "." + Long.toHexString(ThreadLocalRandom.current().nextLong()) + ".tmp");
+      try {
+        return Files.createFile(temp);
+      } catch (FileAlreadyExistsException e) {
+        // name taken, try another one
+      }
+    }
+  }
+
+  /**
+   * give the temp file the permissions of the file it replaces, like an overwrite in place
+   *
+   * @param target target file, may not exist
+   * @param temp temp file
+   * @throws IOException attribute exception
+   */
+  private static void copyPermissions(Path target, Path temp) throws IOException {
+    PosixFileAttributeView view = Files.getFileAttributeView(target, PosixFileAttributeView.class);
+    if (view == null) {
+      return;
+    }
+    try {
+      Files.setPosixFilePermissions(temp, view.readAttributes().permissions());
+    } catch (NoSuchFileException e) {
+      // new file, keeps the default mode
+    }
+  }
+
+  private static void move(Path source, Path target) throws IOException {
+    try {
+      Files.move(
+          source, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    } catch (AtomicMoveNotSupportedException e) {
+      Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+  }
+}
@@ -0,0 +1,211 @@
+package com.tangtongda.open.commons.utils;
+
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * {@link CsvRowReader} RFC 4180 csv row reader. Characters are pulled from the source in 64k
+ * blocks, the current row is kept in one reusable char array and a cell becomes a {@link String}
+ * only when it is asked for, so unmapped columns cost no allocation
+ *
+ * @author <a href="mailto:tangtongda@gmail.com">Tino.Tang</a>
+ * @version ${project.version} - 2026/10/17
+ */
+final class CsvRowReader implements ExcelRowReader {
+
+  private static final int BUFFER_SIZE = 64 * 1024;
+  private static final char QUOTE = '"';
+  private static final char CR = '\r';
+  private static final char LF = '\n';
+  private static final char BOM = '\uFEFF';
+
+  private final Reader source;
+  private final char separator;
+
+  private final char[] buffer = new char[BUFFER_SIZE];
+  private int position;
+  private int limit;
+
+  /** characters of the current row, cells are stored back to back */
+  private char[] row = new char[256];
+
+  private int rowLength;
+
+  /** cell bounds in {@link #row} */
+  private int[] starts = new int[16];
+
+  private int[] ends = new int[16];
+  private String[] values = new String[16];
+  private int cellCount;
+  private int rowNum = -1;
+  private boolean skipLineFeed;
+  private boolean started;
+
+  /**
+   * read csv rows from a character source
+   *
+   * @param source csv source, closed with this reader
+   * @param separator cell separator, usually ','
+   */
+  CsvRowReader(Reader source, char separator) {
+    this.source = source;
+    this.separator = separator;
+  }
+
+  @Override
+  public boolean nextRow() throws IOException {
+    int c = read();
+    if (!started) {
+      started = true;
+      if (c == BOM) {
+        c = read();
+      }
+    }
+    if (skipLineFeed) {
+      skipLineFeed = false;
+      if (c == LF) {
+        c = read();
+      }
+    }
+    if (c < 0) {
+      return false;
+    }
+    Arrays.fill(values, 0, cellCount, null);
+    rowLength = 0;
+    cellCount = 0;
+    rowNum++;
+    startCell();
+    boolean quoted = false;
+    while (true) {
+      if (quoted) {
+        if (c < 0) {
+          // unterminated quote, keep what was read
+          endCell();
+          return true;
+        }
+        if (c == QUOTE) {
+          c = read();
+          if (c != QUOTE) {
+            quoted = false;
+            continue;
+          }
+        }
+        append((char) c);
+      } else if (c < 0 || c == LF) {
+        endCell();
+        return true;
+      } else if (c == CR) {
+        endCell();
+        skipLineFeed = true;
+        return true;
+      } else if (c == separator) {
+        endCell();
+        startCell();
+      } else if (c == QUOTE && rowLength == starts[cellCount]) {
+        quoted = true;
+      } else {
+        append((char) c);
+      }
+      c = read();
+    }
+  }
+
+  @Override
+  public int getRowNum() {
+    return rowNum;
+  }
+
+  @Override
+  public int getLastCellNum() {
+    return cellCount;
+  }
+
+  /**
+   * trimmed cell value, like the string cells of the excel readers
+   *
+   * @param col column index
+   * @return cell value
+   */
+  @Override
+  public String getCellValue(int col) {
+    if (col < 0 || col >= cellCount) {
+      return StringUtils.EMPTY;
+    }
+    if (values[col] == null) {
+      int start = starts[col];
+      int end = ends[col];
+      while (start < end && row[start] <= ' ') {
+        start++;
+      }
+      while (end > start && row[end - 1] <= ' ') {
+        end--;
+      }
+      values[col] = start == end ? StringUtils.EMPTY : new String(row, start, end - start);
+    }
+    return values[col];
+  }
+
+  @Override
+  public CellKind getCellKind(int col) {
+    if (col < 0 || col >= cellCount) {
+      return CellKind.BLANK;
+    }
+    for (int i = starts[col]; i < ends[col]; i++) {
+      if (row[i] > ' ') {
+        return CellKind.STRING;
+      }
+    }
+    return CellKind.BLANK;
+  }
+
+  /**
+   * csv cells are text only
+   *
+   * @throws IllegalStateException always
+   */
+  @Override
+  public double getNumericCellValue(int col) {
+    throw new IllegalStateException("csv cells are strings");
+  }
+
+  @Override
+  public void close() throws IOException {
+    source.close();
+  }
+
+  private int read() throws IOException {
+    if (position == limit) {
+      limit = source.read(buffer, 0, buffer.length);
+      position = 0;
+      if (limit <= 0) {
+        limit = 0;
+        return -1;
+      }
+    }
+    return buffer[position++];
+  }
+
+  private void append(char c) {
+    if (rowLength == row.length) {
+      row = Arrays.copyOf(row, row.length << 1);
+    }
+    row[rowLength++] = c;
+  }
+
+  private void startCell() {
+    if (cellCount == starts.length) {
+      int length = starts.length << 1;
+      starts = Arrays.copyOf(starts, length);
+      ends = Arrays.copyOf(ends, length);
+      values = Arrays.copyOf(values, length);
+    }
+    starts[cellCount] = rowLength;
+  }
+
+  private void endCell() {
+    ends[cellCount++] = rowLength;
+  }
+}
@@ -0,0 +1,297 @@
+package com.tangtongda.open.commons.utils;
+
+import com.tangtongda.open.commons.anotations.ExcelColumn;
+import com.tangtongda.open.commons.utils.ExcelMappingPlan.WriteColumn;
+import org.springframework.util.CollectionUtils;
+
+import javax.servlet.http.HttpServletResponse;
+import javax.validation.constraints.NotNull;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.net.URLEncoder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZonedDateTime;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * {@link CsvUtil} csv import and export with the {@link ExcelColumn} mapping of {@link ExcelUtil}.
+ * Files are UTF-8 unless a charset is given, the export starts with a BOM so excel detects the
+ * charset. {@link ExcelUtil#readExcel} reads uploaded .csv files through this class
+ *
+ * @author <a href="mailto:tangtongda@gmail.com">Tino.Tang</a>
+ * @version ${project.version} - 2026/10/17
+ */
+public final class CsvUtil {
+
+  private CsvUtil() {}
+
+  /** csv file extension */
+  static final String CSV = "csv";
+
+  private static final char SEPARATOR = ',';
+  private static final char QUOTE = '"';
+  private static final char BOM = '\uFEFF';
+  private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+
+  /**
+   * read a local csv file as a lazy entity stream, the file is memory mapped so multi GB files are
+   * read without loading them. The stream must be closed, e.g. with try-with-resources
+   *
+   * @param cls class type
+   * @param path csv file
+   * @param <T> object
+   * @return entity stream
+   * @throws UncheckedIOException open exception
+   */
+  public static <T> Stream<T> streamCsv(@NotNull Class<T> cls, @NotNull Path path) {
+    return streamCsv(cls, path, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * read a local csv file in another charset as a lazy entity stream, see {@link #streamCsv(Class,
+   * Path)}
+   *
+   * @param cls class type
+   * @param path csv file
+   * @param charset file charset, malformed bytes are replaced
+   * @param <T> object
+   * @return entity stream
+   * @throws UncheckedIOException open exception
+   */
+  public static <T> Stream<T> streamCsv(
+      @NotNull Class<T> cls, @NotNull Path path, @NotNull Charset charset) {
+    try {
+      return ExcelUtil.stream(openRowReader(path, charset), cls);
+    } catch (IOException e) {
+      throw new UncheckedIOException("csv open error", e);
+    }
+  }
+
+  /**
+   * read a local csv file and push entities to the listener batch by batch
+   *
+   * @param cls class type
+   * @param path csv file
+   * @param batchSize max entities of one batch
+   * @param listener batch listener, each batch is a new list
+   * @param <T> object
+   * @return total entity count
+   * @throws UncheckedIOException parse exception
+   */
+  public static <T> long readCsv(
+      @NotNull Class<T> cls,
+      @NotNull Path path,
+      int batchSize,
+      @NotNull Consumer<List<T>> listener) {
+    return readCsv(cls, path, StandardCharsets.UTF_8, batchSize, listener);
+  }
+
+  /**
+   * read a local csv file in another charset batch by batch, see {@link #readCsv(Class, Path, int,
+   * Consumer)}
+   *
+   * @param cls class type
+   * @param path csv file
+   * @param charset file charset, malformed bytes are replaced
+   * @param batchSize max entities of one batch
+   * @param listener batch listener, each batch is a new list
+   * @param <T> object
+   * @return total entity count
+   * @throws UncheckedIOException parse exception
+   */
+  public static <T> long readCsv(
+      @NotNull Class<T> cls,
+      @NotNull Path path,
+      @NotNull Charset charset,
+      int batchSize,
+      @NotNull Consumer<List<T>> listener) {
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("batch size must be positive");
+    }
+    try (ExcelRowReader reader = openRowReader(path, charset)) {
+      return ExcelUtil.readBatches(reader, cls, batchSize, listener);
+    } catch (IOException e) {
+      throw new UncheckedIOException("csv parse error", e);
+    }
+  }
+
+  /**
+   * browser download as csv
+   *
+   * @param response http response
+   * @param dataList data list
+   * @param cls class
+   * @param fileName file name
+   * @param <T> object type
+   * @throws UncheckedIOException write exception
+   */
+  public static <T> void writeCsv(
+      @NotNull HttpServletResponse response,
+      @NotNull List<T> dataList,
+      @NotNull Class<T> cls,
+      @NotNull String fileName) {
+    try {
+      response.setContentType("text/csv;charset=UTF-8");
+      response.setHeader(
+          "Content-Disposition", "attachment;filename=" + URLEncoder.encode(fileName, "utf-8"));
+      Writer writer =
+          new BufferedWriter(
+              new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8),
+              WRITE_BUFFER_SIZE);
+      writer.write(BOM);
+      writeCsv(writer, dataList, cls);
+      writer.flush();
+      response.flushBuffer();
+    } catch (IOException e) {
+      throw new UncheckedIOException("csv write error", e);
+    }
+  }
+
+  /**
+   * write csv to local path
+   *
+   * @param dataList data
+   * @param cls data entity class
+   * @param path local path
+   * @param <T> class type
+   * @return written file, bytes and duration
+   * @throws UncheckedIOException write exception, an existing file is left untouched
+   */
+  public static <T> FileWriteResult writeLocalCsv(
+      @NotNull List<T> dataList, @NotNull Class<T> cls, @NotNull String path) {
+    try {
+      return AtomicFileWriter.write(
+          Paths.get(path),
+          os -> {
+            Writer writer = new OutputStreamWriter(os, StandardCharsets.UTF_8);
+            writer.write(BOM);
+            writeCsv(writer, dataList, cls);
+            writer.flush();
+          });
+    } catch (IOException e) {
+      throw new UncheckedIOException("csv write error: " + path, e);
+    }
+  }
+
+  /**
+   * write the header row and the data rows, the writer is not closed
+   *
+   * @param writer target writer
+   * @param dataList data list
+   * @param cls class
+   * @param <T> object type
+   * @throws IOException write exception
+   */
+  public static <T> void writeCsv(
+      @NotNull Writer writer, @NotNull List<T> dataList, @NotNull Class<T> cls)
+      throws IOException {
+    WriteColumn[] columns = ExcelMappingPlan.of(cls).getWriteColumns();
+    for (int j = 0; j < columns.length; j++) {
+      if (j > 0) {
+        writer.write(SEPARATOR);
+      }
+      writeCell(writer, columns[j].getHeader());
+    }
+    writer.write("\r\n");
+    if (CollectionUtils.isEmpty(dataList)) {
+      return;
+    }
+    for (T t : dataList) {
+      for (int j = 0; j < columns.length; j++) {
+        if (j > 0) {
+          writer.write(SEPARATOR);
+        }
+        writeCell(writer, toText(columns[j].get(t)));
+      }
+      writer.write("\r\n");
+    }
+  }
+
+  /**
+   * open an uploaded csv
+   *
+   * @param is UTF-8 csv stream, closed with the reader
+   * @return row reader
+   */
+  static ExcelRowReader openRowReader(InputStream is) {
+    return new CsvRowReader(new InputStreamReader(is, StandardCharsets.UTF_8), SEPARATOR);
+  }
+
+  private static ExcelRowReader openRowReader(Path path, Charset charset) throws IOException {
+    return new CsvRowReader(new MappedFileReader(path, charset), SEPARATOR);
+  }
+
+  /**
+   * cell text, dates use the "yyyy-MM-dd HH:mm:ss" format that the import parses
+   *
+   * @param value field value
+   * @return text
+   */
+  private static String toText(Object value) {
+    if (value == null) {
+      return null;
+    } else if (value instanceof Date) {
+      return DateCodec.format((Date) value);
+    } else if (value instanceof Calendar) {
+      return DateCodec.format(((Calendar) value).getTimeInMillis());
+    } else if (value instanceof Instant) {
+      return DateCodec.format((Instant) value);
+    } else if (value instanceof LocalDateTime) {
+      return DateCodec.format((LocalDateTime) value);
+    } else if (value instanceof ZonedDateTime) {
+      return DateCodec.format(((ZonedDateTime) value).toInstant());
+    } else if (value instanceof OffsetDateTime) {
+      return DateCodec.format(((OffsetDateTime) value).toInstant());
+    } else if (value instanceof BigDecimal) {
+      return ((BigDecimal) value).toPlainString();
+    }
+    return value.toString();
+  }
+
+  /**
+   * write a cell, quoted if it holds a separator, a quote or a line break
+   *
+   * @param writer target writer
+   * @param value cell text, null for an empty cell
+   * @throws IOException write exception
+   */
+  private static void writeCell(Writer writer, String value) throws IOException {
+    if (value == null || value.isEmpty()) {
+      return;
+    }
+    boolean quote = false;
+    for (int i = 0; i < value.length() && !quote; i++) {
+      char c = value.charAt(i);
+      quote = c == SEPARATOR || c == QUOTE || c == '\r' || c == '\n';
+    }
+    if (!quote) {
+      writer.write(value);
+      return;
+    }
+    writer.write(QUOTE);
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == QUOTE) {
+        writer.write(QUOTE);
+      }
+      writer.write(c);
+    }
+    writer.write(QUOTE);
+  }
+}
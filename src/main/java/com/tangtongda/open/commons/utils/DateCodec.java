@@ -0,0 +1,278 @@
+package com.tangtongda.open.commons.utils;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.TemporalAccessor;
+import java.time.zone.ZoneRules;
+import java.util.Calendar;
+import java.util.Date;
+
+/**
+ * {@link DateCodec} thread safe "yyyy-MM-dd HH:mm:ss" date codec shared by {@link GsonUtil},
+ * {@link DateUtil} and {@link CsvUtil}. The fixed pattern is written and read by hand, dates of the
+ * second and zone hit a small cache, other input falls back to {@link DateTimeFormatter}. Instants
+ * are formatted in the current default zone, looked up on each call so that a later {@link
+ * java.util.TimeZone#setDefault} applies like it did to the gson date format and {@link Calendar}
+ *
+ * @author <a href="mailto:tangtongda@gmail.com">Tino.Tang</a>
+ * @version ${project.version} - 2026/10/17
+ */
+final class DateCodec {
+
+  static final String NORM_DATETIME_PATTERN = "yyyy-MM-dd HH:mm:ss";
+
+  static final DateTimeFormatter FORMATTER = DateTimeFormatter.ofPattern(NORM_DATETIME_PATTERN);
+
+  private static final int LENGTH = NORM_DATETIME_PATTERN.length();
+
+  /** recently formatted seconds, a slot is replaced by the next second that maps to it */
+  private static final int CACHE_SIZE = 64;
+
+  private static final Entry[] CACHE = new Entry[CACHE_SIZE];
+
+  private DateCodec() {}
+
+  /**
+   * format a date in the current default zone
+   *
+   * @param date date
+   * @return formatted text
+   */
+  static String format(Date date) {
+    return formatEpochSecond(Math.floorDiv(date.getTime(), 1000L), ZoneId.systemDefault());
+  }
+
+  /**
+   * format epoch millis in the current default zone
+   *
+   * @param epochMilli epoch millis
+   * @return formatted text
+   */
+  static String format(long epochMilli) {
+    return formatEpochSecond(Math.floorDiv(epochMilli, 1000L), ZoneId.systemDefault());
+  }
+
+  /**
+   * format a calendar in its own zone
+   *
+   * @param calendar calendar
+   * @return formatted text
+   */
+  static String format(Calendar calendar) {
+    return formatEpochSecond(
+        Math.floorDiv(calendar.getTimeInMillis(), 1000L), calendar.getTimeZone().toZoneId());
+  }
+
+  /**
+   * format an instant in the current default zone
+   *
+   * @param instant instant
+   * @return formatted text
+   */
+  static String format(Instant instant) {
+    return formatEpochSecond(instant.getEpochSecond(), ZoneId.systemDefault());
+  }
+
+  /**
+   * format a local date time, fractions of a second are dropped
+   *
+   * @param dateTime date time
+   * @return formatted text
+   */
+  static String format(LocalDateTime dateTime) {
+    int year = dateTime.getYear();
+    if (year < 0 || year > 9999) {
+      return FORMATTER.format(dateTime);
+    }
+    return write(
+        year,
+        dateTime.getMonthValue(),
+        dateTime.getDayOfMonth(),
+        dateTime.getHour(),
+        dateTime.getMinute(),
+        dateTime.getSecond());
+  }
+
+  /**
+   * parse a local date time, "yyyy-MM-dd HH:mm:ss" or ISO-8601
+   *
+   * @param text date text
+   * @return date time
+   * @throws DateTimeException invalid text
+   */
+  static LocalDateTime parseLocalDateTime(String text) {
+    LocalDateTime dateTime = parseFast(text);
+    if (dateTime != null) {
+      return dateTime;
+    }
+    try {
+      return LocalDateTime.parse(text, FORMATTER);
+    } catch (DateTimeParseException e) {
+      return LocalDateTime.parse(text);
+    }
+  }
+
+  /**
+   * parse an instant, "yyyy-MM-dd HH:mm:ss" in the default zone or ISO-8601 with or without
+   * offset, a date only text is the start of that day
+   *
+   * @param text date text
+   * @return instant
+   * @throws DateTimeException invalid text
+   */
+  static Instant parseInstant(String text) {
+    ZoneId zone = ZoneId.systemDefault();
+    LocalDateTime dateTime = parseFast(text);
+    if (dateTime != null) {
+      return dateTime.atZone(zone).toInstant();
+    }
+    try {
+      return LocalDateTime.parse(text, FORMATTER).atZone(zone).toInstant();
+    } catch (DateTimeParseException e) {
+      return parseIso(text, zone);
+    }
+  }
+
+  /**
+   * parse a date, see {@link #parseInstant}
+   *
+   * @param text date text
+   * @return date
+   * @throws DateTimeException invalid text
+   */
+  static Date parseDate(String text) {
+    return Date.from(parseInstant(text));
+  }
+
+  /** same fallback as gson, which tried ISO-8601 after the pattern */
+  private static Instant parseIso(String text, ZoneId zone) {
+    if (text.indexOf('T') < 0) {
+      return LocalDate.parse(text).atStartOfDay(zone).toInstant();
+    }
+    TemporalAccessor parsed =
+        DateTimeFormatter.ISO_DATE_TIME.parseBest(text, Instant::from, LocalDateTime::from);
+    if (parsed instanceof Instant) {
+      return (Instant) parsed;
+    }
+    return ((LocalDateTime) parsed).atZone(zone).toInstant();
+  }
+
+  private static String formatEpochSecond(long epochSecond, ZoneId zone) {
+    int slot = (int) epochSecond & (CACHE_SIZE - 1);
+    Entry entry = CACHE[slot];
+    if (entry != null && entry.epochSecond == epochSecond && entry.zone.equals(zone)) {
+      return entry.text;
+    }
+    ZoneRules rules = zone.getRules();
+    int offset =
+        rules.isFixedOffset()
+            ? rules.getOffset(Instant.EPOCH).getTotalSeconds()
+            : rules.getOffset(Instant.ofEpochSecond(epochSecond)).getTotalSeconds();
+    long local = epochSecond + offset;
+    LocalDate date = LocalDate.ofEpochDay(Math.floorDiv(local, 86400L));
+    int secondOfDay = (int) Math.floorMod(local, 86400L);
+    String text;
+    if (date.getYear() < 0 || date.getYear() > 9999) {
+      text = FORMATTER.format(date.atStartOfDay().plusSeconds(secondOfDay));
+    } else {
+      text =
+          write(
+              date.getYear(),
+              date.getMonthValue(),
+              date.getDayOfMonth(),
+              secondOfDay / 3600,
+              secondOfDay / 60 % 60,
+              secondOfDay % 60);
+    }
+    // entries are immutable, a racing reader sees either the old or the new one
+    CACHE[slot] = new Entry(epochSecond, zone, text);
+    return text;
+  }
+
+  private static String write(int year, int month, int day, int hour, int minute, int second) {
+    char[] chars = new char[LENGTH];
+    chars[0] = digit(year / 1000);
+    chars[1] = digit(year / 100 % 10);
+    chars[2] = digit(year / 10 % 10);
+    chars[3] = digit(year % 10);
+    chars[4] = '-';
+    write2(chars, 5, month);
+    chars[7] = '-';
+    write2(chars, 8, day);
+    chars[10] = ' ';
+    write2(chars, 11, hour);
+    chars[13] = ':';
+    write2(chars, 14, minute);
+    chars[16] = ':';
+    write2(chars, 17, second);
+    return new String(chars);
+  }
+
+  private static void write2(char[] chars, int index, int value) {
+    chars[index] = digit(value / 10);
+    chars[index + 1] = digit(value % 10);
+  }
+
+  private static char digit(int value) {
+    return (char) ('0' + value);
+  }
+
+  /**
+   * read the exact "yyyy-MM-dd HH:mm:ss" shape without a formatter
+   *
+   * @param text date text
+   * @return date time, null if the text has another shape
+   * @throws DateTimeException a field is out of range
+   */
+  private static LocalDateTime parseFast(String text) {
+    if (text == null
+        || text.length() != LENGTH
+        || text.charAt(4) != '-'
+        || text.charAt(7) != '-'
+        || text.charAt(10) != ' '
+        || text.charAt(13) != ':'
+        || text.charAt(16) != ':') {
+      return null;
+    }
+    int year = number(text, 0, 4);
+    int month = number(text, 5, 2);
+    int day = number(text, 8, 2);
+    int hour = number(text, 11, 2);
+    int minute = number(text, 14, 2);
+    int second = number(text, 17, 2);
+    if ((year | month | day | hour | minute | second) < 0) {
+      return null;
+    }
+    return LocalDateTime.of(year, month, day, hour, minute, second);
+  }
+
+  private static int number(String text, int start, int length) {
+    int value = 0;
+    for (int i = start; i < start + length; i++) {
+      int digit = text.charAt(i) - '0';
+      if (digit < 0 || digit > 9) {
+        return -1;
+      }
+      value = value * 10 + digit;
+    }
+    return value;
+  }
+
+  private static final class Entry {
+
+    private final long epochSecond;
+    private final ZoneId zone;
+    private final String text;
+
+    private Entry(long epochSecond, ZoneId zone, String text) {
+      this.epochSecond = epochSecond;
+      this.zone = zone;
+      this.text = text;
+    }
+  }
+}
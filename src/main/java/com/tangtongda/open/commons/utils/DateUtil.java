@@ -1,7 +1,6 @@
 package com.tangtongda.open.commons.utils;
 
 import java.math.BigDecimal;
-import java.text.SimpleDateFormat;
 import java.util.Calendar;
 import java.util.Date;
 
@@ -12,8 +11,6 @@ import java.util.Date;
  * @version ${project.version} - 2021/3/31
  */
 public class DateUtil {
-  private static final String NORM_DATETIME_PATTERN = "yyyy-MM-dd HH:mm:ss";
-
   private DateUtil() {}
 
   /**
@@ -23,14 +20,13 @@ public class DateUtil {
    * @return start time string
    */
   public static String getStartOfDay(Date date) {
-    SimpleDateFormat simpleDateFormat = new SimpleDateFormat(NORM_DATETIME_PATTERN);
     Calendar calendar = Calendar.getInstance();
     calendar.setTime(date);
     calendar.set(Calendar.HOUR_OF_DAY, 0);
     calendar.set(Calendar.MINUTE, 0);
     calendar.set(Calendar.SECOND, 0);
     calendar.set(Calendar.MILLISECOND, 0);
-    return simpleDateFormat.format(calendar.getTime());
+    return DateCodec.format(calendar);
   }
 
   /**
@@ -40,14 +36,13 @@ public class DateUtil {
    * @return end time string
    */
   public static String getEndOfDay(Date date) {
-    SimpleDateFormat simpleDateFormat = new SimpleDateFormat(NORM_DATETIME_PATTERN);
     Calendar calendar = Calendar.getInstance();
     calendar.setTime(date);
     calendar.set(Calendar.HOUR_OF_DAY, 23);
     calendar.set(Calendar.MINUTE, 59);
     calendar.set(Calendar.SECOND, 59);
     calendar.set(Calendar.MILLISECOND, 999);
-    return simpleDateFormat.format(calendar.getTime());
+    return DateCodec.format(calendar);
   }
 
   /**
@@ -89,7 +84,6 @@ public class DateUtil {
    * @return start time string
    */
   public static String getStartOfMonth(Date date) {
-    SimpleDateFormat simpleDateFormat = new SimpleDateFormat(NORM_DATETIME_PATTERN);
     Calendar calendar = Calendar.getInstance();
     calendar.setTime(date);
     calendar.set(Calendar.DAY_OF_MONTH, calendar.getMinimum(Calendar.DAY_OF_MONTH));
@@ -97,7 +91,7 @@ public class DateUtil {
     calendar.set(Calendar.MINUTE, 0);
     calendar.set(Calendar.SECOND, 0);
     calendar.set(Calendar.MILLISECOND, 0);
-    return simpleDateFormat.format(calendar.getTime());
+    return DateCodec.format(calendar);
   }
 
   /**
@@ -107,7 +101,6 @@ public class DateUtil {
    * @return end time string
    */
   public static String getEndOfMonth(Date date) {
-    SimpleDateFormat simpleDateFormat = new SimpleDateFormat(NORM_DATETIME_PATTERN);
     Calendar calendar = Calendar.getInstance();
     calendar.setTime(date);
     calendar.set(Calendar.DAY_OF_MONTH, calendar.getMaximum(Calendar.DAY_OF_MONTH));
@@ -115,7 +108,7 @@ public class DateUtil {
     calendar.set(Calendar.MINUTE, 0);
     calendar.set(Calendar.SECOND, 0);
     calendar.set(Calendar.MILLISECOND, 0);
-    return simpleDateFormat.format(calendar.getTime());
+    return DateCodec.format(calendar);
   }
 
   /**
@@ -159,7 +152,6 @@ public class DateUtil {
    * @return start time string
    */
   public static String getStartOfYear(Date date) {
-    SimpleDateFormat simpleDateFormat = new SimpleDateFormat(NORM_DATETIME_PATTERN);
     Calendar calendar = Calendar.getInstance();
     calendar.setTime(date);
     calendar.set(Calendar.MONTH, calendar.getMinimum(Calendar.MONTH));
@@ -168,7 +160,7 @@ public class DateUtil {
     calendar.set(Calendar.MINUTE, 0);
     calendar.set(Calendar.SECOND, 0);
     calendar.set(Calendar.MILLISECOND, 0);
-    return simpleDateFormat.format(calendar.getTime());
+    return DateCodec.format(calendar);
   }
 
   /**
@@ -178,7 +170,6 @@ public class DateUtil {
    * @return end time string
    */
   public static String getEndOfYear(Date date) {
-    SimpleDateFormat simpleDateFormat = new SimpleDateFormat(NORM_DATETIME_PATTERN);
     Calendar calendar = Calendar.getInstance();
     calendar.setTime(date);
     calendar.set(Calendar.MONTH, calendar.getMaximum(Calendar.MONTH));
@@ -187,7 +178,7 @@ public class DateUtil {
     calendar.set(Calendar.MINUTE, 0);
     calendar.set(Calendar.SECOND, 0);
     calendar.set(Calendar.MILLISECOND, 0);
-    return simpleDateFormat.format(calendar.getTime());
+    return DateCodec.format(calendar);
   }
 
   /**
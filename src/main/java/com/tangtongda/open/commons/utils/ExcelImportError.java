@@ -0,0 +1,98 @@
+package com.tangtongda.open.commons.utils;
+
+/**
+ * {@link ExcelImportError} one failed cell or row of {@link ExcelUtil#importExcel}
+ *
+ * @author <a href="mailto:tangtongda@gmail.com">Tino.Tang</a>
+ * @version ${project.version} - 2026/10/17
+ */
+public final class ExcelImportError {
+
+  private final int row;
+  private final int column;
+  private final String header;
+  private final String field;
+  private final String value;
+  private final String message;
+
+  ExcelImportError(
+      int row, int column, String header, String field, String value, String message) {
+    this.row = row;
+    this.column = column;
+    this.header = header;
+    this.field = field;
+    this.value = value;
+    this.message = message;
+  }
+
+  /**
+   * row number as shown by excel, the header row is 1
+   *
+   * @return row number, 0 for file errors
+   */
+  public int getRow() {
+    return row;
+  }
+
+  /**
+   * zero based column index
+   *
+   * @return column index, -1 for row and file errors
+   */
+  public int getColumn() {
+    return column;
+  }
+
+  /**
+   * header of the column
+   *
+   * @return header, null for row and file errors
+   */
+  public String getHeader() {
+    return header;
+  }
+
+  /**
+   * bean field of the column
+   *
+   * @return field name, null for row and file errors
+   */
+  public String getField() {
+    return field;
+  }
+
+  /**
+   * cell value
+   *
+   * @return value, null for row and file errors
+   */
+  public String getValue() {
+    return value;
+  }
+
+  public String getMessage() {
+    return message;
+  }
+
+  @Override
+  public String toString() {
+    return "ExcelImportError{"
+        + "row="
+        + row
+        + ", column="
+        + column
+        + ", header='"
+        + header
+        + '\''
+        + ", field='"
+        + field
+        + '\''
+        + ", value='"
+        + value
+        + '\''
+        + ", message='"
+        + message
+        + '\''
+        + '}';
+  }
+}
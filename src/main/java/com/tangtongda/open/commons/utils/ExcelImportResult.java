@@ -0,0 +1,109 @@
+package com.tangtongda.open.commons.utils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@link ExcelImportResult} entities and errors of {@link ExcelUtil#importExcel}. Rows with a
+ * failed cell or a failed validation are left out of the entities, the import stops once the error
+ * limit is reached
+ *
+ * @author <a href="mailto:tangtongda@gmail.com">Tino.Tang</a>
+ * @version ${project.version} - 2026/10/17
+ */
+public final class ExcelImportResult<T> {
+
+  private final int maxErrors;
+  private final List<T> rows = new ArrayList<>();
+  private final List<ExcelImportError> errors = new ArrayList<>();
+  private boolean aborted;
+
+  ExcelImportResult(int maxErrors) {
+    this.maxErrors = maxErrors;
+  }
+
+  /**
+   * entities of the rows without errors, in row order
+   *
+   * @return entities
+   */
+  public List<T> getRows() {
+    return Collections.unmodifiableList(rows);
+  }
+
+  /**
+   * errors in row order, at most the error limit
+   *
+   * @return errors
+   */
+  public List<ExcelImportError> getErrors() {
+    return Collections.unmodifiableList(errors);
+  }
+
+  public int getErrorCount() {
+    return errors.size();
+  }
+
+  public boolean hasErrors() {
+    return !errors.isEmpty();
+  }
+
+  /**
+   * whether the import stopped before the end of the file, on the error limit or a file error
+   *
+   * @return true if aborted
+   */
+  public boolean isAborted() {
+    return aborted;
+  }
+
+  void addRow(T row) {
+    rows.add(row);
+  }
+
+  void addCellError(
+      int rowNum, int col, String header, String field, String value, Exception e) {
+    addError(new ExcelImportError(rowNum + 1, col, header, field, value, messageOf(e)));
+  }
+
+  void addRowError(int rowNum, String message) {
+    addError(new ExcelImportError(rowNum + 1, -1, null, null, null, message));
+  }
+
+  /**
+   * record a file error, the import is aborted
+   *
+   * @param e read exception
+   */
+  void fail(Exception e) {
+    errors.add(new ExcelImportError(0, -1, null, null, null, messageOf(e)));
+    aborted = true;
+  }
+
+  private void addError(ExcelImportError error) {
+    if (aborted) {
+      return;
+    }
+    errors.add(error);
+    if (errors.size() >= maxErrors) {
+      aborted = true;
+    }
+  }
+
+  private static String messageOf(Exception e) {
+    return e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+  }
+
+  @Override
+  public String toString() {
+    return "ExcelImportResult{"
+        + "rowCount="
+        + rows.size()
+        + ", errorCount="
+        + errors.size()
+        + ", aborted="
+        + aborted
+        + '}';
+  }
+}
@@ -0,0 +1,691 @@
+package com.tangtongda.open.commons.utils;
+
+import com.tangtongda.open.commons.anotations.ExcelColumn;
+import com.tangtongda.open.commons.utils.ExcelRowReader.CellKind;
+import com.tangtongda.open.commons.utils.ExcelStyleRegistry.StyleKey;
+import org.apache.commons.lang3.BooleanUtils;
+import org.apache.commons.lang3.CharUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.time.DateUtils;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.DateUtil;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * {@link ExcelMappingPlan} resolved {@link ExcelColumn} mapping of one bean class, built once per
+ * class and cached in a {@link ClassValue}
+ *
+ * @author <a href="mailto:tangtongda@gmail.com">Tino.Tang</a>
+ * @version ${project.version} - 2026/10/17
+ */
+final class ExcelMappingPlan<T> {
+
+  private static final ClassValue<ExcelMappingPlan<?>> PLANS =
+      new ClassValue<ExcelMappingPlan<?>>() {
+        @Override
+        protected ExcelMappingPlan<?> computeValue(Class<?> type) {
+          return new ExcelMappingPlan<>(type);
+        }
+      };
+
+  private final Class<T> type;
+  private final Constructor<T> constructor;
+
+  /** header match mode flags, the mode is the index of {@link #readColumns} */
+  private static final int IGNORE_CASE = 1;
+
+  private static final int IGNORE_WHITESPACE = 2;
+
+  /** match mode --> normalized 注解 value or alias --> bean columns */
+  private final List<Map<String, ReadColumn[]>> readColumns;
+
+  /** export columns sorted by col */
+  private final WriteColumn[] writeColumns;
+
+  private ExcelMappingPlan(Class<T> type) {
+    this.type = type;
+    this.constructor = findConstructor(type);
+    List<Map<String, List<ReadColumn>>> readMaps = new ArrayList<>();
+    for (int mode = 0; mode <= (IGNORE_CASE | IGNORE_WHITESPACE); mode++) {
+      readMaps.add(new HashMap<>());
+    }
+    List<Field> writeFields = new ArrayList<>();
+    for (Field field : type.getDeclaredFields()) {
+      ExcelColumn annotation = field.getAnnotation(ExcelColumn.class);
+      if (annotation == null) {
+        continue;
+      }
+      int mode =
+          (annotation.ignoreCase() ? IGNORE_CASE : 0)
+              | (annotation.ignoreWhitespace() ? IGNORE_WHITESPACE : 0);
+      Set<String> names = new LinkedHashSet<>();
+      names.add(normalize(annotation.value(), mode));
+      for (String alias : annotation.aliases()) {
+        names.add(normalize(alias, mode));
+      }
+      ReadColumn column = null;
+      for (String name : names) {
+        if (StringUtils.isNotBlank(name)) {
+          column = column == null ? new ReadColumn(field) : column;
+          readMaps.get(mode).computeIfAbsent(name, k -> new ArrayList<>()).add(column);
+        }
+      }
+      if (annotation.col() > 0) {
+        writeFields.add(field);
+      }
+    }
+    List<Map<String, ReadColumn[]>> columns = new ArrayList<>(readMaps.size());
+    for (Map<String, List<ReadColumn>> readMap : readMaps) {
+      Map<String, ReadColumn[]> modeColumns = new HashMap<>(readMap.size() << 1);
+      readMap.forEach((k, v) -> modeColumns.put(k, v.toArray(new ReadColumn[0])));
+      columns.add(modeColumns);
+    }
+    this.readColumns = Collections.unmodifiableList(columns);
+    writeFields.sort(Comparator.comparingInt(field -> field.getAnnotation(ExcelColumn.class).col()));
+    this.writeColumns = writeFields.stream().map(WriteColumn::new).toArray(WriteColumn[]::new);
+  }
+
+  /**
+   * get the cached plan of a class
+   *
+   * @param cls bean class
+   * @param <T> bean type
+   * @return mapping plan
+   */
+  @SuppressWarnings("unchecked")
+  static <T> ExcelMappingPlan<T> of(Class<T> cls) {
+    return (ExcelMappingPlan<T>) PLANS.get(cls);
+  }
+
+  /**
+   * create an empty bean
+   *
+   * @return bean
+   * @throws ReflectiveOperationException no default constructor or instantiation exception
+   */
+  T newInstance() throws ReflectiveOperationException {
+    if (constructor == null) {
+      throw new NoSuchMethodException(type.getName() + ".<init>()");
+    }
+    return constructor.newInstance();
+  }
+
+  /**
+   * columns mapped by a header name, by {@link ExcelColumn#value()} or {@link
+   * ExcelColumn#aliases()} with the column's case and whitespace rules. Called once per header
+   * cell
+   *
+   * @param header header cell value
+   * @return columns, null if no field uses the header
+   */
+  ReadColumn[] getReadColumns(String header) {
+    ReadColumn[] matched = null;
+    Set<ReadColumn> merged = null;
+    for (int mode = 0; mode < readColumns.size(); mode++) {
+      Map<String, ReadColumn[]> modeColumns = readColumns.get(mode);
+      ReadColumn[] columns =
+          modeColumns.isEmpty() ? null : modeColumns.get(normalize(header, mode));
+      if (columns == null) {
+        continue;
+      }
+      if (matched == null) {
+        matched = columns;
+      } else {
+        if (merged == null) {
+          merged = new LinkedHashSet<>(Arrays.asList(matched));
+        }
+        merged.addAll(Arrays.asList(columns));
+      }
+    }
+    return merged == null ? matched : merged.toArray(new ReadColumn[0]);
+  }
+
+  /**
+   * normalize a header name for a match mode
+   *
+   * @param name header name
+   * @param mode match mode flags
+   * @return normalized name
+   */
+  private static String normalize(String name, int mode) {
+    if (name == null || mode == 0) {
+      return name;
+    }
+    String normalized = name;
+    if ((mode & IGNORE_WHITESPACE) != 0) {
+      StringBuilder builder = new StringBuilder(name.length());
+      for (int i = 0; i < name.length(); i++) {
+        char c = name.charAt(i);
+        if (!Character.isWhitespace(c) && !Character.isSpaceChar(c)) {
+          builder.append(c);
+        }
+      }
+      normalized = builder.toString();
+    }
+    if ((mode & IGNORE_CASE) != 0) {
+      normalized = normalized.toLowerCase(Locale.ROOT);
+    }
+    return normalized;
+  }
+
+  /**
+   * export columns sorted by {@link ExcelColumn#col()}, columns with col 0 are not exported
+   *
+   * @return columns
+   */
+  WriteColumn[] getWriteColumns() {
+    return writeColumns;
+  }
+
+  private static <T> Constructor<T> findConstructor(Class<T> type) {
+    try {
+      return type.getDeclaredConstructor();
+    } catch (NoSuchMethodException e) {
+      return null;
+    }
+  }
+
+  /** cell string converter and field setter, resolved once from the field type */
+  @FunctionalInterface
+  interface CellSetter {
+
+    /**
+     * convert the cell value and set it to the bean
+     *
+     * @param bean target bean
+     * @param value not blank cell value
+     * @throws Exception convert or set exception
+     */
+    void set(Object bean, String value) throws Exception;
+  }
+
+  /** numeric cell setter, resolved once from the field type */
+  @FunctionalInterface
+  interface NumericSetter {
+
+    /**
+     * convert the numeric cell value and set it to the bean
+     *
+     * @param bean target bean
+     * @param value numeric cell value, excel serial number for dates
+     * @throws Exception convert or set exception
+     */
+    void set(Object bean, double value) throws Exception;
+  }
+
+  /** import column */
+  static final class ReadColumn {
+
+    /** string formats of date fields */
+    private static final String[] DATE_PATTERNS = {"yyyy-MM-dd HH:mm:ss", "yyyy-MM-dd"};
+
+    private static final DateTimeFormatter DATETIME_FORMATTER =
+        DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    /** {min, max} of the integral field types */
+    private static final long[] BYTE_RANGE = {Byte.MIN_VALUE, Byte.MAX_VALUE};
+    private static final long[] SHORT_RANGE = {Short.MIN_VALUE, Short.MAX_VALUE};
+    private static final long[] INT_RANGE = {Integer.MIN_VALUE, Integer.MAX_VALUE};
+    private static final long[] LONG_RANGE = {Long.MIN_VALUE, Long.MAX_VALUE};
+
+    private final String name;
+    private final CellSetter setter;
+
+    /** typed setter of numeric and date cells, null to use the string setter */
+    private final NumericSetter numericSetter;
+
+    private ReadColumn(Field field) {
+      FieldAccessor accessor = FieldAccessor.of(field);
+      this.name = field.getName();
+      this.setter = setterOf(accessor);
+      this.numericSetter = numericSetterOf(accessor);
+    }
+
+    String getName() {
+      return name;
+    }
+
+    /**
+     * set a cell value, blank values are ignored
+     *
+     * @param bean target bean
+     * @param value cell value
+     * @throws Exception convert or set exception
+     */
+    private void set(Object bean, String value) throws Exception {
+      if (StringUtils.isNotBlank(value)) {
+        setter.set(bean, value);
+      }
+    }
+
+    /**
+     * set a cell of the current row, numeric and date cells go straight to number and date fields
+     * without the string conversion
+     *
+     * @param bean target bean
+     * @param reader row reader
+     * @param col column index
+     * @throws Exception convert or set exception
+     */
+    void set(Object bean, ExcelRowReader reader, int col) throws Exception {
+      CellKind kind = reader.getCellKind(col);
+      if (kind == CellKind.BLANK) {
+        return;
+      }
+      if (numericSetter != null && (kind == CellKind.NUMERIC || kind == CellKind.DATE)) {
+        numericSetter.set(bean, reader.getNumericCellValue(col));
+      } else {
+        set(bean, reader.getCellValue(col));
+      }
+    }
+
+    /**
+     * resolve the string setter of a field, same conversions as the former type chain of
+     * handleField, date fields parse "yyyy-MM-dd HH:mm:ss" or "yyyy-MM-dd". Numbers are checked
+     * like numeric cells, text that is no number of the field type throws instead of becoming 0
+     *
+     * @param accessor field accessor
+     * @return setter
+     */
+    private static CellSetter setterOf(FieldAccessor accessor) {
+      Class<?> type = accessor.getType();
+      if (type == Object.class || type == String.class) {
+        return accessor::set;
+      } else if (type == Date.class) {
+        return (bean, value) -> accessor.set(bean, DateUtils.parseDate(value, DATE_PATTERNS));
+      } else if (type == LocalDateTime.class) {
+        return (bean, value) -> accessor.set(bean, LocalDateTime.parse(value, DATETIME_FORMATTER));
+      } else if (type == LocalDate.class) {
+        return (bean, value) -> accessor.set(bean, LocalDate.parse(value));
+      } else if (type == int.class) {
+        return (bean, value) -> accessor.setInt(bean, (int) parseIntegral(value, INT_RANGE));
+      } else if (type == Integer.class) {
+        return (bean, value) -> accessor.set(bean, (int) parseIntegral(value, INT_RANGE));
+      } else if (type == long.class) {
+        return (bean, value) -> accessor.setLong(bean, parseIntegral(value, LONG_RANGE));
+      } else if (type == Long.class) {
+        return (bean, value) -> accessor.set(bean, parseIntegral(value, LONG_RANGE));
+      } else if (type == byte.class || type == Byte.class) {
+        return (bean, value) -> accessor.set(bean, (byte) parseIntegral(value, BYTE_RANGE));
+      } else if (type == short.class || type == Short.class) {
+        return (bean, value) -> accessor.set(bean, (short) parseIntegral(value, SHORT_RANGE));
+      } else if (type == double.class) {
+        return (bean, value) -> accessor.setDouble(bean, Double.parseDouble(value));
+      } else if (type == Double.class) {
+        return (bean, value) -> accessor.set(bean, Double.parseDouble(value));
+      } else if (type == float.class || type == Float.class) {
+        return (bean, value) -> accessor.set(bean, toFloat(Double.parseDouble(value)));
+      } else if (type == char.class) {
+        return (bean, value) -> accessor.set(bean, CharUtils.toChar(value));
+      } else if (type == boolean.class || type == Boolean.class) {
+        return (bean, value) -> accessor.set(bean, BooleanUtils.toBoolean(value));
+      } else if (type == BigDecimal.class) {
+        return (bean, value) -> accessor.set(bean, new BigDecimal(value));
+      } else if (type.getSuperclass() == null || type.getSuperclass() == Number.class) {
+        // other numbers and interfaces are not supported
+        return (bean, value) -> {};
+      }
+      try {
+        Constructor<?> constructor = type.getConstructor(String.class);
+        return (bean, value) -> accessor.set(bean, constructor.newInstance(value));
+      } catch (NoSuchMethodException e) {
+        return (bean, value) -> {
+          throw e;
+        };
+      }
+    }
+
+    /**
+     * resolve the numeric setter of a number or date field. Integral fields reject fractions and
+     * values out of their range instead of truncating or wrapping them, the exception goes to the
+     * row error listener like other conversion failures
+     *
+     * @param accessor field accessor
+     * @return setter, null if the field takes the string value
+     */
+    private static NumericSetter numericSetterOf(FieldAccessor accessor) {
+      Class<?> type = accessor.getType();
+      if (type == int.class) {
+        return (bean, value) -> accessor.setInt(bean, (int) toIntegral(value, INT_RANGE));
+      } else if (type == Integer.class) {
+        return (bean, value) -> accessor.set(bean, (int) toIntegral(value, INT_RANGE));
+      } else if (type == long.class) {
+        return (bean, value) -> accessor.setLong(bean, toIntegral(value, LONG_RANGE));
+      } else if (type == Long.class) {
+        return (bean, value) -> accessor.set(bean, toIntegral(value, LONG_RANGE));
+      } else if (type == byte.class || type == Byte.class) {
+        return (bean, value) -> accessor.set(bean, (byte) toIntegral(value, BYTE_RANGE));
+      } else if (type == short.class || type == Short.class) {
+        return (bean, value) -> accessor.set(bean, (short) toIntegral(value, SHORT_RANGE));
+      } else if (type == double.class) {
+        return accessor::setDouble;
+      } else if (type == Double.class) {
+        return accessor::set;
+      } else if (type == float.class || type == Float.class) {
+        return (bean, value) -> accessor.set(bean, toFloat(value));
+      } else if (type == BigDecimal.class) {
+        return (bean, value) -> accessor.set(bean, BigDecimal.valueOf(value));
+      } else if (type == Date.class) {
+        return (bean, value) -> accessor.set(bean, DateUtil.getJavaDate(value));
+      } else if (type == LocalDateTime.class) {
+        return (bean, value) -> accessor.set(bean, toLocalDateTime(value));
+      } else if (type == LocalDate.class) {
+        return (bean, value) -> accessor.set(bean, toLocalDateTime(value).toLocalDate());
+      }
+      return null;
+    }
+
+    /**
+     * exact integral value of a numeric cell
+     *
+     * @param value cell value
+     * @param range {min, max} of the field type
+     * @return integral value
+     * @throws NumberFormatException the value has a fraction or is out of range
+     */
+    private static long toIntegral(double value, long[] range) {
+      // 2^63 itself is out of the long range, (double) Long.MAX_VALUE rounds up to it
+      if (value != Math.rint(value)
+          || value < range[0]
+          || (range == LONG_RANGE ? value >= 0x1p63 : value > range[1])) {
+        throw new NumberFormatException(
+            "value " + value + " is not an integer between " + range[0] + " and " + range[1]);
+      }
+      return (long) value;
+    }
+
+    /**
+     * exact integral value of a text cell, "3" and "3.0" are accepted
+     *
+     * @param value cell text
+     * @param range {min, max} of the field type
+     * @return integral value
+     * @throws NumberFormatException the text is no number, has a fraction or is out of range
+     */
+    private static long parseIntegral(String value, long[] range) {
+      String text = value.trim();
+      RuntimeException cause = null;
+      try {
+        long result;
+        try {
+          result = Long.parseLong(text);
+        } catch (NumberFormatException e) {
+          // "3.0" or "1e3"
+          result = new BigDecimal(text).longValueExact();
+        }
+        if (result >= range[0] && result <= range[1]) {
+          return result;
+        }
+      } catch (NumberFormatException | ArithmeticException e) {
+        // no number, a fraction or out of the long range
+        cause = e;
+      }
+      NumberFormatException e =
+          new NumberFormatException(
+              "value " + text + " is not an integer between " + range[0] + " and " + range[1]);
+      e.initCause(cause);
+      throw e;
+    }
+
+    private static float toFloat(double value) {
+      if (Math.abs(value) > Float.MAX_VALUE) {
+        throw new NumberFormatException("value " + value + " is out of the float range");
+      }
+      return (float) value;
+    }
+
+    private static LocalDateTime toLocalDateTime(double excelDate) {
+      return LocalDateTime.ofInstant(
+          DateUtil.getJavaDate(excelDate).toInstant(), ZoneId.systemDefault());
+    }
+  }
+
+  /** typed cell writer, resolved once from the field type */
+  @FunctionalInterface
+  interface CellWriter {
+
+    /**
+     * read the field of the bean and write it to the cell, null values leave the cell blank
+     *
+     * @param cell target cell
+     * @param bean source bean
+     */
+    void write(Cell cell, Object bean);
+  }
+
+  /** not null value writer, resolved once from the value type */
+  @FunctionalInterface
+  interface ValueWriter {
+
+    /**
+     * write a value to the cell
+     *
+     * @param cell target cell
+     * @param value not null value
+     */
+    void write(Cell cell, Object value);
+  }
+
+  /** export column */
+  static final class WriteColumn {
+
+    /** default format of date time columns */
+    private static final String DATETIME_FORMAT = "yyyy-MM-dd HH:mm:ss";
+
+    /** default format of date columns */
+    private static final String DATE_FORMAT = "yyyy-MM-dd";
+
+    /** largest long that excel can store as a number without losing digits, 2^53 */
+    private static final long MAX_EXACT_LONG = 1L << 53;
+
+    /** excel keeps 15 significant digits */
+    private static final int MAX_EXACT_PRECISION = 15;
+
+    private final String header;
+    private final FieldAccessor accessor;
+    private final CellWriter writer;
+    private final StyleKey style;
+    private final int width;
+
+    private WriteColumn(Field field) {
+      ExcelColumn annotation = field.getAnnotation(ExcelColumn.class);
+      String format = annotation.format();
+      if (StringUtils.isEmpty(format)) {
+        format = defaultFormat(field.getType());
+      }
+      this.header = annotation.value();
+      this.accessor = FieldAccessor.of(field);
+      this.writer = writerOf(accessor);
+      this.style = new StyleKey(false, annotation.align(), format);
+      this.width = Math.max(annotation.width(), 0);
+    }
+
+    String getHeader() {
+      return header;
+    }
+
+    /**
+     * data cell style descriptor from {@link ExcelColumn#align()} and {@link ExcelColumn#format()},
+     * date columns without a format get a default date format
+     *
+     * @return style descriptor
+     */
+    StyleKey getStyle() {
+      return style;
+    }
+
+    /**
+     * column width in characters
+     *
+     * @return width, 0 if not set
+     */
+    int getWidth() {
+      return width;
+    }
+
+    /**
+     * read the field value of a bean
+     *
+     * @param bean source bean
+     * @return field value
+     */
+    Object get(Object bean) {
+      return accessor.get(bean);
+    }
+
+    /**
+     * write the field value of a bean to a cell
+     *
+     * @param cell target cell
+     * @param bean source bean
+     */
+    void write(Cell cell, Object bean) {
+      writer.write(cell, bean);
+    }
+
+    private static String defaultFormat(Class<?> type) {
+      if (type == LocalDate.class) {
+        return DATE_FORMAT;
+      } else if (Date.class.isAssignableFrom(type)
+          || Calendar.class.isAssignableFrom(type)
+          || type == LocalDateTime.class
+          || type == Instant.class
+          || type == ZonedDateTime.class
+          || type == OffsetDateTime.class) {
+        return DATETIME_FORMAT;
+      }
+      return StringUtils.EMPTY;
+    }
+
+    /**
+     * resolve the typed writer of a field: numbers, dates and booleans keep their cell type,
+     * everything else is written as a string. Only fields declared as {@link Object}, {@link
+     * Number} or an interface pick the writer by the runtime type of each value
+     *
+     * @param accessor field accessor
+     * @return writer
+     */
+    private static CellWriter writerOf(FieldAccessor accessor) {
+      Class<?> type = accessor.getType();
+      if (type == int.class) {
+        return (cell, bean) -> cell.setCellValue(accessor.getInt(bean));
+      } else if (type == double.class) {
+        return (cell, bean) -> cell.setCellValue(accessor.getDouble(bean));
+      } else if (type == long.class) {
+        return (cell, bean) -> setLong(cell, accessor.getLong(bean));
+      }
+      ValueWriter typed = valueWriterOf(type);
+      ValueWriter writer = typed == null ? WriteColumn::setValue : typed;
+      return (cell, bean) -> {
+        Object value = accessor.get(bean);
+        if (value != null) {
+          writer.write(cell, value);
+        }
+      };
+    }
+
+    /**
+     * resolve the writer of a value type
+     *
+     * @param type declared or runtime type
+     * @return writer, null if values of the type may be numbers or dates of any kind
+     */
+    private static ValueWriter valueWriterOf(Class<?> type) {
+      if (type == Integer.class
+          || type == Short.class
+          || type == Byte.class
+          || type == short.class
+          || type == byte.class) {
+        return (cell, value) -> cell.setCellValue(((Number) value).intValue());
+      } else if (type == Long.class) {
+        return (cell, value) -> setLong(cell, (Long) value);
+      } else if (type == Double.class) {
+        return (cell, value) -> cell.setCellValue((Double) value);
+      } else if (type == Float.class || type == float.class) {
+        // keep the decimal digits of the float, eg: 1.1f is not 1.100000023841858
+        return (cell, value) -> cell.setCellValue(Double.parseDouble(value.toString()));
+      } else if (type == BigDecimal.class) {
+        return (cell, value) -> setBigDecimal(cell, (BigDecimal) value);
+      } else if (type == Boolean.class || type == boolean.class) {
+        return (cell, value) -> cell.setCellValue((Boolean) value);
+      } else if (Date.class.isAssignableFrom(type)) {
+        return (cell, value) -> cell.setCellValue((Date) value);
+      } else if (Calendar.class.isAssignableFrom(type)) {
+        return (cell, value) -> cell.setCellValue((Calendar) value);
+      } else if (type == LocalDateTime.class) {
+        return (cell, value) ->
+            cell.setCellValue(toDate(((LocalDateTime) value).atZone(ZoneId.systemDefault())));
+      } else if (type == LocalDate.class) {
+        return (cell, value) ->
+            cell.setCellValue(toDate(((LocalDate) value).atStartOfDay(ZoneId.systemDefault())));
+      } else if (type == ZonedDateTime.class) {
+        return (cell, value) -> cell.setCellValue(toDate((ZonedDateTime) value));
+      } else if (type == OffsetDateTime.class) {
+        return (cell, value) -> cell.setCellValue(Date.from(((OffsetDateTime) value).toInstant()));
+      } else if (type == Instant.class) {
+        return (cell, value) -> cell.setCellValue(Date.from((Instant) value));
+      } else if (type == Object.class || type == Number.class || type.isInterface()) {
+        return null;
+      }
+      return (cell, value) -> cell.setCellValue(value.toString());
+    }
+
+    /**
+     * write a not null value of an {@link Object} typed field by its runtime type
+     *
+     * @param cell target cell
+     * @param value field value
+     */
+    private static void setValue(Cell cell, Object value) {
+      ValueWriter writer = valueWriterOf(value.getClass());
+      if (writer == null) {
+        cell.setCellValue(value.toString());
+      } else {
+        writer.write(cell, value);
+      }
+    }
+
+    /**
+     * decimals beyond 15 significant digits are written as strings, excel would round them
+     *
+     * @param cell target cell
+     * @param decimal decimal value
+     */
+    private static void setBigDecimal(Cell cell, BigDecimal decimal) {
+      if (decimal.precision() <= MAX_EXACT_PRECISION) {
+        cell.setCellValue(decimal.doubleValue());
+      } else {
+        cell.setCellValue(decimal.toString());
+      }
+    }
+
+    /**
+     * longs above 2^53 are written as strings, excel would round them, eg: snowflake ids
+     *
+     * @param cell target cell
+     * @param value long value
+     */
+    private static void setLong(Cell cell, long value) {
+      if (value > MAX_EXACT_LONG || value < -MAX_EXACT_LONG) {
+        cell.setCellValue(Long.toString(value));
+      } else {
+        cell.setCellValue(value);
+      }
+    }
+
+    private static Date toDate(ZonedDateTime dateTime) {
+      return Date.from(dateTime.toInstant());
+    }
+  }
+}
@@ -0,0 +1,134 @@
+package com.tangtongda.open.commons.utils;
+
+import com.tangtongda.open.commons.anotations.ExcelColumn;
+import com.tangtongda.open.commons.utils.ExcelMappingPlan.ReadColumn;
+import com.tangtongda.open.commons.utils.ExcelRowReader.CellKind;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * {@link ExcelRowMapper} maps the rows of an {@link ExcelRowReader} to {@link ExcelColumn} beans,
+ * the first row is the header row
+ *
+ * @author <a href="mailto:tangtongda@gmail.com">Tino.Tang</a>
+ * @version ${project.version} - 2026/10/17
+ */
+final class ExcelRowMapper<T> {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(ExcelRowMapper.class);
+
+  /** default error listener, logs and keeps the row */
+  private static final CellErrorListener LOG_ERRORS =
+      (rowNum, col, header, field, value, e) ->
+          LOGGER.error("reflect field:{} value:{} exception!", field, value, e);
+
+  private final ExcelMappingPlan<T> plan;
+  private final CellErrorListener errorListener;
+
+  /** 索引-->columns, null until the header row is read */
+  private ReadColumn[][] columnsByIndex;
+
+  /** indexes of the mapped header cells, ascending */
+  private int[] mappedIndexes;
+
+  /** 索引-->header */
+  private String[] headers;
+
+  ExcelRowMapper(Class<T> cls) {
+    this(cls, LOG_ERRORS);
+  }
+
+  /**
+   * mapper with a cell error listener, the row is still returned after an error
+   *
+   * @param cls bean class
+   * @param errorListener cell conversion error listener
+   */
+  ExcelRowMapper(Class<T> cls, CellErrorListener errorListener) {
+    this.plan = ExcelMappingPlan.of(cls);
+    this.errorListener = errorListener;
+  }
+
+  /**
+   * read rows until the next non blank entity
+   *
+   * @param reader sheet row reader
+   * @return entity, null when the sheet has no more rows
+   * @throws IOException read exception
+   * @throws ReflectiveOperationException entity instantiation exception
+   */
+  T next(ExcelRowReader reader) throws IOException, ReflectiveOperationException {
+    while (reader.nextRow()) {
+      // 首行  提取注解
+      if (columnsByIndex == null) {
+        readHeader(reader);
+        continue;
+      }
+      T t = plan.newInstance();
+      // 判断是否为空白行
+      boolean allBlank = true;
+      for (int j : mappedIndexes) {
+        CellKind kind = reader.getCellKind(j);
+        if (kind == CellKind.BLANK
+            || kind == CellKind.STRING && StringUtils.isBlank(reader.getCellValue(j))) {
+          continue;
+        }
+        allBlank = false;
+        for (ReadColumn column : columnsByIndex[j]) {
+          try {
+            column.set(t, reader, j);
+          } catch (Exception e) {
+            errorListener.onError(
+                reader.getRowNum(), j, headers[j], column.getName(), reader.getCellValue(j), e);
+          }
+        }
+      }
+      if (!allBlank) {
+        return t;
+      }
+      LOGGER.warn("row:{} is blank ignore!", reader.getRowNum());
+    }
+    return null;
+  }
+
+  /**
+   * resolve the header row once into a dense column index --> columns table
+   *
+   * @param reader row reader on the header row
+   */
+  private void readHeader(ExcelRowReader reader) {
+    columnsByIndex = new ReadColumn[reader.getLastCellNum()][];
+    headers = new String[columnsByIndex.length];
+    int[] indexes = new int[columnsByIndex.length];
+    int count = 0;
+    for (int j = 0; j < columnsByIndex.length; j++) {
+      headers[j] = reader.getCellValue(j);
+      columnsByIndex[j] = plan.getReadColumns(headers[j]);
+      if (columnsByIndex[j] != null) {
+        indexes[count++] = j;
+      }
+    }
+    mappedIndexes = Arrays.copyOf(indexes, count);
+  }
+
+  /** cell conversion error callback */
+  @FunctionalInterface
+  interface CellErrorListener {
+
+    /**
+     * a cell could not be converted or set
+     *
+     * @param rowNum zero based row index
+     * @param col zero based column index
+     * @param header column header
+     * @param field bean field name
+     * @param value cell value
+     * @param e conversion exception
+     */
+    void onError(int rowNum, int col, String header, String field, String value, Exception e);
+  }
+}
@@ -0,0 +1,72 @@
+package com.tangtongda.open.commons.utils;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * {@link ExcelRowReader} forward only row cursor over one excel sheet
+ *
+ * @author <a href="mailto:tangtongda@gmail.com">Tino.Tang</a>
+ * @version ${project.version} - 2026/10/17
+ */
+interface ExcelRowReader extends Closeable {
+
+  /** value of error cells */
+  String ERROR_RESULT = "ERROR";
+
+  /**
+   * move to the next physical row, missing rows are skipped
+   *
+   * @return false when the sheet has no more rows
+   * @throws IOException read exception
+   */
+  boolean nextRow() throws IOException;
+
+  /**
+   * current row index, zero based
+   *
+   * @return row index
+   */
+  int getRowNum();
+
+  /**
+   * current row cell count, the last cell index plus one
+   *
+   * @return last cell num
+   */
+  int getLastCellNum();
+
+  /**
+   * current row cell value, empty string for missing cells
+   *
+   * @param col column index
+   * @return cell value
+   */
+  String getCellValue(int col);
+
+  /**
+   * current row cell kind, read typed values without the string conversion of {@link
+   * #getCellValue}
+   *
+   * @param col column index
+   * @return cell kind, {@link CellKind#BLANK} for missing cells
+   */
+  CellKind getCellKind(int col);
+
+  /**
+   * current row numeric cell value, dates are excel serial numbers
+   *
+   * @param col column index of a {@link CellKind#NUMERIC} or {@link CellKind#DATE} cell
+   * @return cell value
+   */
+  double getNumericCellValue(int col);
+
+  /** cell kinds, formula cells are strings holding the formula text */
+  enum CellKind {
+    BLANK,
+    STRING,
+    NUMERIC,
+    DATE,
+    BOOLEAN
+  }
+}
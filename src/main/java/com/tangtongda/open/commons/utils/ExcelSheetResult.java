@@ -0,0 +1,119 @@
+package com.tangtongda.open.commons.utils;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link ExcelSheetResult} entities and statistics of one sheet read by {@link
+ * ExcelUtil#readExcelSheets}
+ *
+ * @author <a href="mailto:tangtongda@gmail.com">Tino.Tang</a>
+ * @version ${project.version} - 2026/10/17
+ */
+public final class ExcelSheetResult<T> {
+
+  private final int sheetIndex;
+  private final String sheetName;
+  private final Class<T> type;
+  private final List<T> rows;
+  private final long elapsedMillis;
+  private final Exception error;
+
+  ExcelSheetResult(
+      int sheetIndex,
+      String sheetName,
+      Class<T> type,
+      List<T> rows,
+      long elapsedMillis,
+      Exception error) {
+    this.sheetIndex = sheetIndex;
+    this.sheetName = sheetName;
+    this.type = type;
+    this.rows = rows;
+    this.elapsedMillis = elapsedMillis;
+    this.error = error;
+  }
+
+  /**
+   * merge sheet entities in sheet order
+   *
+   * @param results sheet results
+   * @param <T> entity type
+   * @return all entities
+   */
+  public static <T> List<T> merge(List<? extends ExcelSheetResult<? extends T>> results) {
+    int size = 0;
+    for (ExcelSheetResult<? extends T> result : results) {
+      size += result.getRowCount();
+    }
+    List<T> rows = new ArrayList<>(size);
+    for (ExcelSheetResult<? extends T> result : results) {
+      rows.addAll(result.getRows());
+    }
+    return rows;
+  }
+
+  public int getSheetIndex() {
+    return sheetIndex;
+  }
+
+  public String getSheetName() {
+    return sheetName;
+  }
+
+  public Class<T> getType() {
+    return type;
+  }
+
+  /**
+   * mapped entities, empty if the sheet failed
+   *
+   * @return entities
+   */
+  public List<T> getRows() {
+    return rows;
+  }
+
+  public int getRowCount() {
+    return rows.size();
+  }
+
+  /**
+   * wall clock time spent on this sheet
+   *
+   * @return millis
+   */
+  public long getElapsedMillis() {
+    return elapsedMillis;
+  }
+
+  /**
+   * parse exception of this sheet
+   *
+   * @return exception, null if succeeded
+   */
+  public Exception getError() {
+    return error;
+  }
+
+  public boolean isSuccess() {
+    return error == null;
+  }
+
+  @Override
+  public String toString() {
+    return "ExcelSheetResult{"
+        + "sheetIndex="
+        + sheetIndex
+        + ", sheetName='"
+        + sheetName
+        + '\''
+        + ", rowCount="
+        + rows.size()
+        + ", elapsedMillis="
+        + elapsedMillis
+        + ", success="
+        + isSuccess()
+        + '}';
+  }
+}
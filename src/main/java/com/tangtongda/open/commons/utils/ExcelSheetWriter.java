@@ -0,0 +1,94 @@
+package com.tangtongda.open.commons.utils;
+
+import com.tangtongda.open.commons.anotations.ExcelColumn;
+import com.tangtongda.open.commons.utils.ExcelMappingPlan.WriteColumn;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.springframework.util.CollectionUtils;
+
+import java.util.List;
+
+/**
+ * {@link ExcelSheetWriter} appends {@link ExcelColumn} beans to a sheet, the header row and the
+ * column styles are written once so rows can be added in several batches
+ *
+ * @author <a href="mailto:tangtongda@gmail.com">Tino.Tang</a>
+ * @version ${project.version} - 2026/10/17
+ */
+final class ExcelSheetWriter<T> {
+
+  /** excel column width limit in characters */
+  private static final int MAX_COLUMN_WIDTH = 255;
+
+  private final Sheet sheet;
+  private final WriteColumn[] columns;
+  private final CellStyle[] columnStyles;
+  private int rowNum;
+
+  /**
+   * create the sheet with its header row and frozen header pane
+   *
+   * @param wb workbook
+   * @param sheetName sheet name
+   * @param cls bean class
+   */
+  ExcelSheetWriter(Workbook wb, String sheetName, Class<T> cls) {
+    this.sheet = wb.createSheet(sheetName);
+    this.columns = ExcelMappingPlan.of(cls).getWriteColumns();
+    this.columnStyles = new CellStyle[columns.length];
+    ExcelStyleRegistry styles = new ExcelStyleRegistry(wb);
+    CellStyle headerStyle = styles.get(ExcelStyleRegistry.HEADER);
+    Row row = sheet.createRow(rowNum++);
+    // 写入类注解头部
+    for (int j = 0; j < columns.length; j++) {
+      Cell cell = row.createCell(j);
+      cell.setCellStyle(headerStyle);
+      cell.setCellValue(columns[j].getHeader());
+      columnStyles[j] = styles.get(columns[j].getStyle());
+      if (columns[j].getWidth() > 0) {
+        sheet.setColumnWidth(j, Math.min(columns[j].getWidth(), MAX_COLUMN_WIDTH) * 256);
+      }
+    }
+    // freezing current pane
+    sheet.createFreezePane(0, 1, 0, 1);
+  }
+
+  /**
+   * append beans after the last written row
+   *
+   * @param dataList beans
+   */
+  void write(List<T> dataList) {
+    if (CollectionUtils.isEmpty(dataList)) {
+      return;
+    }
+    for (T t : dataList) {
+      Row row = sheet.createRow(rowNum++);
+      for (int j = 0; j < columns.length; j++) {
+        Cell cell = row.createCell(j);
+        if (columnStyles[j] != null) {
+          cell.setCellStyle(columnStyles[j]);
+        }
+        try {
+          columns[j].write(cell, t);
+        } catch (Exception e) {
+          e.printStackTrace();
+          cell.setCellValue(StringUtils.EMPTY);
+        }
+      }
+    }
+  }
+
+  /**
+   * number of data rows written
+   *
+   * @return row count, header excluded
+   */
+  int getRowCount() {
+    return rowNum - 1;
+  }
+}
@@ -0,0 +1,121 @@
+package com.tangtongda.open.commons.utils;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.DataFormat;
+import org.apache.poi.ss.usermodel.Font;
+import org.apache.poi.ss.usermodel.HorizontalAlignment;
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.ss.usermodel.Workbook;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * {@link ExcelStyleRegistry} {@link CellStyle} and {@link Font} pool of one workbook. Styles are
+ * keyed by a {@link StyleKey} descriptor, so every distinct look is created once no matter how
+ * many cells use it. Not thread safe, like the workbook itself
+ *
+ * @author <a href="mailto:tangtongda@gmail.com">Tino.Tang</a>
+ * @version ${project.version} - 2026/10/17
+ */
+final class ExcelStyleRegistry {
+
+  /** centered plain header on a white background */
+  static final StyleKey HEADER = new StyleKey(true, HorizontalAlignment.CENTER, StringUtils.EMPTY);
+
+  private final Workbook workbook;
+  private final Map<StyleKey, CellStyle> styles = new HashMap<>();
+  private final Map<Short, Font> fonts = new HashMap<>();
+  private DataFormat dataFormat;
+
+  ExcelStyleRegistry(Workbook workbook) {
+    this.workbook = workbook;
+  }
+
+  /**
+   * get or create the style of a descriptor
+   *
+   * @param key style descriptor
+   * @return cell style, null for {@link StyleKey#DEFAULT} so the cell keeps the workbook default
+   */
+  CellStyle get(StyleKey key) {
+    if (StyleKey.DEFAULT.equals(key)) {
+      return null;
+    }
+    return styles.computeIfAbsent(key, this::create);
+  }
+
+  private CellStyle create(StyleKey key) {
+    CellStyle cellStyle = workbook.createCellStyle();
+    if (key.header) {
+      cellStyle.setFillForegroundColor(IndexedColors.WHITE.getIndex());
+      cellStyle.setFillPattern(CellStyle.SOLID_FOREGROUND);
+      cellStyle.setFont(font(Font.BOLDWEIGHT_NORMAL));
+    }
+    if (key.alignment != HorizontalAlignment.GENERAL) {
+      // HorizontalAlignment ordinals are the ALIGN_* codes
+      cellStyle.setAlignment((short) key.alignment.ordinal());
+    }
+    if (!key.format.isEmpty()) {
+      if (dataFormat == null) {
+        dataFormat = workbook.createDataFormat();
+      }
+      cellStyle.setDataFormat(dataFormat.getFormat(key.format));
+    }
+    return cellStyle;
+  }
+
+  private Font font(short boldWeight) {
+    return fonts.computeIfAbsent(
+        boldWeight,
+        weight -> {
+          Font font = workbook.createFont();
+          font.setBoldweight(weight);
+          return font;
+        });
+  }
+
+  /** immutable style descriptor */
+  static final class StyleKey {
+
+    /** no style at all */
+    static final StyleKey DEFAULT =
+        new StyleKey(false, HorizontalAlignment.GENERAL, StringUtils.EMPTY);
+
+    private final boolean header;
+    private final HorizontalAlignment alignment;
+    private final String format;
+
+    /**
+     * style descriptor
+     *
+     * @param header header look: white fill and normal weight font
+     * @param alignment horizontal alignment, {@link HorizontalAlignment#GENERAL} to keep default
+     * @param format excel data format, empty to keep default
+     */
+    StyleKey(boolean header, HorizontalAlignment alignment, String format) {
+      this.header = header;
+      this.alignment = Objects.requireNonNull(alignment);
+      this.format = StringUtils.defaultString(format);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+      if (this == o) {
+        return true;
+      }
+      if (!(o instanceof StyleKey)) {
+        return false;
+      }
+      StyleKey that = (StyleKey) o;
+      return header == that.header && alignment == that.alignment && format.equals(that.format);
+    }
+
+    @Override
+    public int hashCode() {
+      return Objects.hash(header, alignment, format);
+    }
+  }
+}
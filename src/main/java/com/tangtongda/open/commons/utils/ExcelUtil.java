@@ -1,35 +1,40 @@
 package com.tangtongda.open.commons.utils;
 
-import com.tangtongda.open.commons.anotations.ExcelColumn;
-import org.apache.commons.lang3.BooleanUtils;
-import org.apache.commons.lang3.CharUtils;
 import org.apache.commons.lang3.StringUtils;
-import org.apache.commons.lang3.math.NumberUtils;
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
 import org.apache.poi.ss.usermodel.*;
-import org.apache.poi.ss.usermodel.DateUtil;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.MediaType;
 import org.springframework.util.CollectionUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import javax.servlet.http.HttpServletResponse;
 import javax.validation.constraints.NotNull;
+import java.io.BufferedOutputStream;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.lang.reflect.Constructor;
-import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
-import java.math.BigDecimal;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.URLEncoder;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * {@link ExcelUtil} ExcelUtil
@@ -43,13 +48,14 @@ public class ExcelUtil {
 
   private ExcelUtil() {}
 
-  private static final String EXCEL2003 = "xls";
   private static final String EXCEL2007 = "xlsx";
   private static final String DEFAULT_SHEET = "Sheet1";
-  private static final String ERROR_RESULT = "ERROR";
+
+  /** response write buffer of paged exports */
+  private static final int RESPONSE_BUFFER_SIZE = 64 * 1024;
 
   /**
-   * read excel to entity data list
+   * read excel to entity data list, .csv files are read by {@link CsvUtil}
    *
    * @param cls class type
    * @param file multipart file
@@ -57,165 +63,488 @@ public class ExcelUtil {
    * @return object list
    */
   public static <T> List<T> readExcel(Class<T> cls, MultipartFile file) {
-    if (null == file) {
-      LOGGER.error("target file dose not exist");
+    if (!isExcelFile(file)) {
       return new ArrayList<>();
     }
-    String fileName = file.getOriginalFilename();
-    if (StringUtils.isBlank(fileName)) {
-      LOGGER.error("target file name dose not exist");
+    List<T> dataList = new ArrayList<>();
+    try (ExcelRowReader reader = openRowReader(file)) {
+      ExcelRowMapper<T> mapper = new ExcelRowMapper<>(cls);
+      T t;
+      while ((t = mapper.next(reader)) != null) {
+        dataList.add(t);
+      }
+    } catch (Exception e) {
+      LOGGER.error("excel parse error,wps excel must be .xlsx file", e);
       return new ArrayList<>();
     }
-    if (!fileName.matches("^.+\\.(?i)(xls)$") && !fileName.matches("^.+\\.(?i)(xlsx)$")) {
-      LOGGER.error("The file is not a xls file or xlsx file");
-      return new ArrayList<>();
+    return dataList;
+  }
+
+  /**
+   * import excel and collect cell conversion and validation errors instead of logging them.
+   * Rows with errors are left out of the entities, the import stops after maxErrors errors
+   *
+   * @param cls class type
+   * @param file multipart file
+   * @param maxErrors error limit, at least 1
+   * @param <T> object
+   * @return entities and errors
+   */
+  public static <T> ExcelImportResult<T> importExcel(
+      Class<T> cls, MultipartFile file, int maxErrors) {
+    return importExcel(cls, file, maxErrors, null);
+  }
+
+  /**
+   * import excel and validate every entity while the file is read, see {@link
+   * #importExcel(Class, MultipartFile, int)}
+   *
+   * @param cls class type
+   * @param file multipart file
+   * @param maxErrors error limit, at least 1
+   * @param validator entity validator, returns an error message or null if valid, may be null
+   * @param <T> object
+   * @return entities and errors
+   */
+  public static <T> ExcelImportResult<T> importExcel(
+      Class<T> cls,
+      MultipartFile file,
+      int maxErrors,
+      Function<? super T, String> validator) {
+    if (maxErrors <= 0) {
+      throw new IllegalArgumentException("max errors must be positive");
     }
-    List<T> dataList = new ArrayList<>();
-    Workbook workbook = null;
-    try (InputStream is = file.getInputStream()) {
-      if (fileName.endsWith(EXCEL2007)) {
-        workbook = new XSSFWorkbook(is);
+    ExcelImportResult<T> result = new ExcelImportResult<>(maxErrors);
+    if (!isExcelFile(file)) {
+      result.fail(new IllegalArgumentException("The file is not a xls, xlsx or csv file"));
+      return result;
+    }
+    try (ExcelRowReader reader = openRowReader(file)) {
+      ExcelRowMapper<T> mapper = new ExcelRowMapper<>(cls, result::addCellError);
+      int errorCount = 0;
+      T t;
+      while (!result.isAborted() && (t = mapper.next(reader)) != null) {
+        if (result.getErrorCount() == errorCount) {
+          String message = validate(validator, t);
+          if (message == null) {
+            result.addRow(t);
+          } else {
+            result.addRowError(reader.getRowNum(), message);
+          }
+        }
+        errorCount = result.getErrorCount();
+      }
+    } catch (Exception e) {
+      LOGGER.error("excel import error", e);
+      result.fail(e);
+    }
+    return result;
+  }
+
+  private static <T> String validate(Function<? super T, String> validator, T t) {
+    if (validator == null) {
+      return null;
+    }
+    try {
+      return validator.apply(t);
+    } catch (RuntimeException e) {
+      return e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage();
+    }
+  }
+
+  /**
+   * read excel and push entities to the listener batch by batch, so the listener can persist rows
+   * while the rest of the file is still being parsed
+   *
+   * @param cls class type
+   * @param file multipart file
+   * @param batchSize max entities of one batch
+   * @param listener batch listener, each batch is a new list
+   * @param <T> object
+   * @return total entity count
+   * @throws UncheckedIOException excel parse exception
+   */
+  public static <T> long readExcel(
+      Class<T> cls, MultipartFile file, int batchSize, @NotNull Consumer<List<T>> listener) {
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("batch size must be positive");
+    }
+    if (!isExcelFile(file)) {
+      return 0;
+    }
+    try (ExcelRowReader reader = openRowReader(file)) {
+      return readBatches(reader, cls, batchSize, listener);
+    } catch (IOException e) {
+      throw new UncheckedIOException("excel parse error", e);
+    }
+  }
+
+  /**
+   * map all rows of a reader and push them to the listener batch by batch
+   *
+   * @param reader row reader, not closed
+   * @param cls class type
+   * @param batchSize max entities of one batch
+   * @param listener batch listener, each batch is a new list
+   * @param <T> object
+   * @return total entity count
+   * @throws IOException parse exception
+   */
+  static <T> long readBatches(
+      ExcelRowReader reader, Class<T> cls, int batchSize, Consumer<List<T>> listener)
+      throws IOException {
+    long total = 0;
+    try {
+      ExcelRowMapper<T> mapper = new ExcelRowMapper<>(cls);
+      List<T> batch = new ArrayList<>(batchSize);
+      T t;
+      while ((t = mapper.next(reader)) != null) {
+        batch.add(t);
+        if (batch.size() == batchSize) {
+          listener.accept(batch);
+          total += batch.size();
+          batch = new ArrayList<>(batchSize);
+        }
       }
-      if (fileName.endsWith(EXCEL2003)) {
-        workbook = new HSSFWorkbook(is);
+      if (!batch.isEmpty()) {
+        listener.accept(batch);
+        total += batch.size();
       }
-      if (workbook != null) {
-        // 类映射  注解 value-->bean columns
-        Map<String, List<Field>> classMap = new HashMap<>();
-        List<Field> fields = Stream.of(cls.getDeclaredFields()).collect(Collectors.toList());
-        fields.forEach(
-            field -> {
-              ExcelColumn annotation = field.getAnnotation(ExcelColumn.class);
-              if (annotation != null) {
-                String value = annotation.value();
-                if (StringUtils.isBlank(value)) {
-                  return; // return起到的作用和continue是相同的 语法
-                }
-                if (!classMap.containsKey(value)) {
-                  classMap.put(value, new ArrayList<>());
-                }
-                field.setAccessible(true);
-                classMap.get(value).add(field);
-              }
-            });
-        // 索引-->columns
-        Map<Integer, List<Field>> reflectionMap = new HashMap<>(16);
-        // 默认读取第一个sheet
-        Sheet sheet = workbook.getSheetAt(0);
-
-        boolean firstRow = true;
-        for (int i = sheet.getFirstRowNum(); i <= sheet.getLastRowNum(); i++) {
-          Row row = sheet.getRow(i);
-          // 首行  提取注解
-          if (firstRow) {
-            for (int j = row.getFirstCellNum(); j <= row.getLastCellNum(); j++) {
-              Cell cell = row.getCell(j);
-              String cellValue = getCellValue(cell);
-              if (classMap.containsKey(cellValue)) {
-                reflectionMap.put(j, classMap.get(cellValue));
-              }
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("excel entity create error", e);
+    }
+    return total;
+  }
+
+  /**
+   * read excel as a lazy entity stream, rows are parsed on demand. The stream holds the file open
+   * and must be closed, e.g. with try-with-resources
+   *
+   * @param cls class type
+   * @param file multipart file
+   * @param <T> object
+   * @return entity stream
+   * @throws UncheckedIOException excel parse exception
+   */
+  public static <T> Stream<T> streamExcel(Class<T> cls, MultipartFile file) {
+    if (!isExcelFile(file)) {
+      return Stream.empty();
+    }
+    ExcelRowReader reader;
+    try {
+      reader = openRowReader(file);
+    } catch (IOException e) {
+      throw new UncheckedIOException("excel open error", e);
+    }
+    return stream(reader, cls);
+  }
+
+  /**
+   * lazy entity stream over a reader, closing the stream closes the reader
+   *
+   * @param reader row reader
+   * @param cls class type
+   * @param <T> object
+   * @return entity stream
+   */
+  static <T> Stream<T> stream(ExcelRowReader reader, Class<T> cls) {
+    ExcelRowMapper<T> mapper = new ExcelRowMapper<>(cls);
+    Spliterator<T> spliterator =
+        new Spliterators.AbstractSpliterator<T>(
+            Long.MAX_VALUE, Spliterator.ORDERED | Spliterator.NONNULL) {
+          @Override
+          public boolean tryAdvance(Consumer<? super T> action) {
+            T t;
+            try {
+              t = mapper.next(reader);
+            } catch (IOException e) {
+              throw new UncheckedIOException("excel parse error", e);
+            } catch (ReflectiveOperationException e) {
+              throw new IllegalStateException("excel entity create error", e);
             }
-            firstRow = false;
-          } else {
-            // 忽略空白行
-            if (row == null) {
-              continue;
+            if (t == null) {
+              return false;
             }
-            T t = cls.getDeclaredConstructor().newInstance();
-            // 判断是否为空白行
-            boolean allBlank = true;
-            for (int j = row.getFirstCellNum(); j <= row.getLastCellNum(); j++) {
-              if (reflectionMap.containsKey(j)) {
-                Cell cell = row.getCell(j);
-                String cellValue = getCellValue(cell);
-                if (StringUtils.isNotBlank(cellValue)) {
-                  allBlank = false;
-                }
-                List<Field> fieldList = reflectionMap.get(j);
-                fieldList.forEach(
-                    x -> {
-                      x.setAccessible(true);
-                      try {
-                        handleField(t, cellValue, x);
-                      } catch (Exception e) {
-                        LOGGER.error(
-                            "reflect field:{} value:{} exception!", x.getName(), cellValue, e);
-                      }
-                    });
+            action.accept(t);
+            return true;
+          }
+        };
+    return StreamSupport.stream(spliterator, false)
+        .onClose(
+            () -> {
+              try {
+                reader.close();
+              } catch (IOException e) {
+                throw new UncheckedIOException("excel close error", e);
               }
-            }
-            if (!allBlank) {
-              dataList.add(t);
-            } else {
-              LOGGER.warn("row:{} is blank ignore!", i);
-            }
+            });
+  }
+
+  /**
+   * check upload file is a xls, xlsx or csv file
+   *
+   * @param file multipart file
+   * @return true if readable
+   */
+  private static boolean isExcelFile(MultipartFile file) {
+    if (null == file) {
+      LOGGER.error("target file dose not exist");
+      return false;
+    }
+    String fileName = file.getOriginalFilename();
+    if (StringUtils.isBlank(fileName)) {
+      LOGGER.error("target file name dose not exist");
+      return false;
+    }
+    if (!fileName.matches("^.+\\.(?i)(xls)$")
+        && !fileName.matches("^.+\\.(?i)(xlsx)$")
+        && !isCsvFile(file)) {
+      LOGGER.error("The file is not a xls, xlsx or csv file");
+      return false;
+    }
+    return true;
+  }
+
+  private static boolean isCsvFile(MultipartFile file) {
+    return StringUtils.endsWithIgnoreCase(file.getOriginalFilename(), "." + CsvUtil.CSV);
+  }
+
+  /**
+   * read several sheets of the same excel concurrently, every sheet is mapped to the entity class.
+   * .xlsx sheets are parsed in parallel on the executor, .xls sheets one by one since {@link
+   * HSSFWorkbook} is not thread safe. Use {@link ExcelSheetResult#merge} to get all entities in
+   * sheet order
+   *
+   * @param cls class type
+   * @param file multipart file
+   * @param executor sheet parse executor
+   * @param <T> object
+   * @return sheet results in sheet order, a failed sheet has no rows and an error
+   */
+  @SuppressWarnings({"unchecked", "rawtypes"})
+  public static <T> List<ExcelSheetResult<T>> readExcelSheets(
+      Class<T> cls, MultipartFile file, @NotNull Executor executor) {
+    List results =
+        readExcelSheets(
+            file,
+            sheetNames -> {
+              SortedMap<Integer, Class<?>> selected = new TreeMap<>();
+              for (int i = 0; i < sheetNames.size(); i++) {
+                selected.put(i, cls);
+              }
+              return selected;
+            },
+            executor);
+    return (List<ExcelSheetResult<T>>) results;
+  }
+
+  /**
+   * read the selected sheets of an excel concurrently, see {@link #readExcelSheets(Class,
+   * MultipartFile, Executor)}
+   *
+   * @param file multipart file
+   * @param sheets sheet name (String) or zero based sheet index (Integer) --> entity class
+   * @param executor sheet parse executor
+   * @return sheet results in sheet order, a failed sheet has no rows and an error
+   * @throws IllegalArgumentException unknown sheet name or index
+   */
+  public static List<ExcelSheetResult<?>> readExcelSheets(
+      MultipartFile file, @NotNull Map<?, Class<?>> sheets, @NotNull Executor executor) {
+    return readExcelSheets(file, sheetNames -> selectSheets(sheetNames, sheets), executor);
+  }
+
+  private static List<ExcelSheetResult<?>> readExcelSheets(
+      MultipartFile file,
+      Function<List<String>, SortedMap<Integer, Class<?>>> selector,
+      Executor executor) {
+    if (!isExcelFile(file)) {
+      return new ArrayList<>();
+    }
+    try {
+      if (isCsvFile(file)) {
+        // csv 只有一个 sheet
+        List<ExcelSheetResult<?>> results = new ArrayList<>();
+        selector
+            .apply(Collections.singletonList(DEFAULT_SHEET))
+            .forEach(
+                (index, cls) ->
+                    results.add(
+                        readSheet(
+                            index,
+                            DEFAULT_SHEET,
+                            cls,
+                            () -> CsvUtil.openRowReader(file.getInputStream()))));
+        return results;
+      }
+      if (StringUtils.endsWithIgnoreCase(file.getOriginalFilename(), EXCEL2007)) {
+        try (XlsxWorkbook workbook = openXlsxWorkbook(file)) {
+          List<String> sheetNames = workbook.getSheetNames();
+          List<CompletableFuture<ExcelSheetResult<?>>> futures = new ArrayList<>();
+          try {
+            selector
+                .apply(sheetNames)
+                .forEach(
+                    (index, cls) ->
+                        futures.add(
+                            submitSheet(workbook, index, sheetNames.get(index), cls, executor)));
+          } finally {
+            // 关闭 workbook 之前等待已提交的 sheet 读完, 它们还在读取临时文件
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0]))
+                .handle((v, e) -> null)
+                .join();
           }
+          return futures.stream().map(CompletableFuture::join).collect(Collectors.toList());
         }
       }
-    } catch (Exception e) {
+      try (InputStream is = file.getInputStream();
+          Workbook workbook = new HSSFWorkbook(is)) {
+        List<String> sheetNames = new ArrayList<>();
+        for (int i = 0; i < workbook.getNumberOfSheets(); i++) {
+          sheetNames.add(workbook.getSheetName(i));
+        }
+        List<ExcelSheetResult<?>> results = new ArrayList<>();
+        selector
+            .apply(sheetNames)
+            .forEach(
+                (index, cls) ->
+                    results.add(
+                        readSheet(
+                            index,
+                            sheetNames.get(index),
+                            cls,
+                            () -> new SheetRowReader(workbook, index, false))));
+        return results;
+      }
+    } catch (IOException e) {
       LOGGER.error("excel parse error,wps excel must be .xlsx file", e);
       return new ArrayList<>();
-    } finally {
-      if (workbook != null) {
-        try {
-          workbook.close();
-        } catch (Exception e) {
-          LOGGER.error("parse excel exception!", e);
-        }
+    }
+  }
+
+  /**
+   * resolve sheet selection keys to sheet indexes
+   *
+   * @param sheetNames sheet names in workbook order
+   * @param sheets sheet name or index --> entity class
+   * @return sheet index --> entity class
+   */
+  private static SortedMap<Integer, Class<?>> selectSheets(
+      List<String> sheetNames, Map<?, Class<?>> sheets) {
+    SortedMap<Integer, Class<?>> selected = new TreeMap<>();
+    sheets.forEach(
+        (key, cls) -> {
+          int index;
+          if (key instanceof Integer) {
+            index = (Integer) key;
+          } else if (key instanceof String) {
+            index = sheetNames.indexOf(key);
+          } else {
+            throw new IllegalArgumentException("sheet key must be a sheet name or index: " + key);
+          }
+          if (index < 0 || index >= sheetNames.size()) {
+            throw new IllegalArgumentException("sheet " + key + " dose not exist");
+          }
+          selected.put(index, cls);
+        });
+    return selected;
+  }
+
+  /**
+   * map one sheet and measure it, exceptions are kept on the result
+   *
+   * @param sheetIndex sheet index
+   * @param sheetName sheet name
+   * @param cls entity class
+   * @param opener sheet reader opener
+   * @param <T> object
+   * @return sheet result
+   */
+  /**
+   * parse a sheet of a .xlsx workbook on the executor
+   *
+   * @param workbook open workbook
+   * @param sheetIndex zero based sheet index
+   * @param sheetName sheet name
+   * @param cls entity class
+   * @param executor sheet parse executor
+   * @return sheet result, a failed result if the executor rejects the sheet
+   */
+  private static CompletableFuture<ExcelSheetResult<?>> submitSheet(
+      XlsxWorkbook workbook, int sheetIndex, String sheetName, Class<?> cls, Executor executor) {
+    try {
+      return CompletableFuture.supplyAsync(
+          () -> readSheet(sheetIndex, sheetName, cls, () -> workbook.openSheet(sheetIndex, false)),
+          executor);
+    } catch (RejectedExecutionException e) {
+      LOGGER.error("excel sheet:{} rejected by the executor", sheetName, e);
+      return CompletableFuture.completedFuture(
+          new ExcelSheetResult<>(sheetIndex, sheetName, cls, new ArrayList<>(), 0, e));
+    }
+  }
+
+  private static <T> ExcelSheetResult<T> readSheet(
+      int sheetIndex, String sheetName, Class<T> cls, Callable<ExcelRowReader> opener) {
+    long start = System.nanoTime();
+    List<T> rows = new ArrayList<>();
+    Exception error = null;
+    try (ExcelRowReader reader = opener.call()) {
+      ExcelRowMapper<T> mapper = new ExcelRowMapper<>(cls);
+      T t;
+      while ((t = mapper.next(reader)) != null) {
+        rows.add(t);
       }
+    } catch (Exception e) {
+      LOGGER.error("excel sheet:{} parse error", sheetName, e);
+      rows = new ArrayList<>();
+      error = e;
     }
-    return dataList;
+    long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    return new ExcelSheetResult<>(sheetIndex, sheetName, cls, rows, elapsed, error);
   }
 
   /**
-   * handle file set value
+   * open the first sheet of the upload file, .xlsx files are spooled to a temp file and read as a
+   * stream, .xls files are loaded with {@link HSSFWorkbook}
    *
-   * @param t object
-   * @param value value
-   * @param field object field
-   * @param <T> object type
+   * @param file multipart file
+   * @return sheet row reader
+   * @throws IOException open exception
    */
-  private static <T> void handleField(T t, String value, Field field)
-      throws IllegalAccessException, NoSuchMethodException, InvocationTargetException,
-          InstantiationException {
-    Class<?> type = field.getType();
-    if (type == void.class || StringUtils.isBlank(value)) {
-      return;
+  private static ExcelRowReader openRowReader(MultipartFile file) throws IOException {
+    if (isCsvFile(file)) {
+      return CsvUtil.openRowReader(file.getInputStream());
     }
-    if (type == Object.class) {
-      field.set(t, value);
-      // 数字类型
-    } else if (type.getSuperclass() == null || type.getSuperclass() == Number.class) {
-      if (type == int.class || type == Integer.class) {
-        field.set(t, NumberUtils.toInt(value));
-      } else if (type == long.class || type == Long.class) {
-        field.set(t, NumberUtils.toLong(value));
-      } else if (type == byte.class || type == Byte.class) {
-        field.set(t, NumberUtils.toByte(value));
-      } else if (type == short.class || type == Short.class) {
-        field.set(t, NumberUtils.toShort(value));
-      } else if (type == double.class || type == Double.class) {
-        field.set(t, NumberUtils.toDouble(value));
-      } else if (type == float.class || type == Float.class) {
-        field.set(t, NumberUtils.toFloat(value));
-      } else if (type == char.class || type == Character.class) {
-        field.set(t, CharUtils.toChar(value));
-      } else if (type == boolean.class) {
-        field.set(t, BooleanUtils.toBoolean(value));
-      } else if (type == BigDecimal.class) {
-        field.set(t, new BigDecimal(value));
+    if (StringUtils.endsWithIgnoreCase(file.getOriginalFilename(), EXCEL2007)) {
+      XlsxWorkbook workbook = openXlsxWorkbook(file);
+      try {
+        return workbook.openSheet(0, true);
+      } catch (IOException | RuntimeException e) {
+        workbook.close();
+        throw e;
       }
-    } else if (type == Boolean.class) {
-      field.set(t, BooleanUtils.toBoolean(value));
-    } else if (type == Date.class) {
-      //
-      field.set(t, value);
-    } else if (type == String.class) {
-      field.set(t, value);
-    } else {
-      Constructor<?> constructor = type.getConstructor(String.class);
-      field.set(t, constructor.newInstance(value));
     }
+    try (InputStream is = file.getInputStream()) {
+      return new SheetRowReader(new HSSFWorkbook(is), 0, true);
+    }
+  }
+
+  /**
+   * spool an .xlsx upload to a temp file, deleted when the workbook is closed
+   *
+   * @param file multipart file
+   * @return xlsx workbook
+   * @throws IOException io exception
+   */
+  private static XlsxWorkbook openXlsxWorkbook(MultipartFile file) throws IOException {
+    // 落地临时文件, 按行流式解析 sheet
+    File tempFile = File.createTempFile(IDUtil.uuid(), "." + EXCEL2007);
+    try {
+      file.transferTo(tempFile);
+    } catch (IOException | RuntimeException e) {
+      Files.deleteIfExists(tempFile.toPath());
+      throw e;
+    }
+    return new XlsxWorkbook(tempFile, true);
   }
 
   /**
@@ -231,7 +560,25 @@ public class ExcelUtil {
       @NotNull Map<String, List<String>> dataList,
       @NotNull List<String> headers,
       @NotNull String fileName) {
-    Workbook wb = getWorkbookWithHeaders(dataList, headers);
+    writeExcel(response, dataList, headers, fileName, ExcelWriteOptions.IN_MEMORY);
+  }
+
+  /**
+   * write excel split header with data list
+   *
+   * @param response HttpServletResponse
+   * @param dataList data : key->row index,value->row data
+   * @param headers header list
+   * @param fileName file name
+   * @param options write options, e.g. {@link ExcelWriteOptions#streaming()}
+   */
+  public static void writeExcel(
+      @NotNull HttpServletResponse response,
+      @NotNull Map<String, List<String>> dataList,
+      @NotNull List<String> headers,
+      @NotNull String fileName,
+      @NotNull ExcelWriteOptions options) {
+    Workbook wb = getWorkbookWithHeaders(dataList, headers, options);
     // 浏览器下载excel
     buildExcelDocument(fileName, wb, response);
   }
@@ -250,10 +597,126 @@ public class ExcelUtil {
       @NotNull List<T> dataList,
       @NotNull Class<T> cls,
       @NotNull String fileName) {
-    Workbook wb = getWorkbook(dataList, cls);
+    writeExcel(response, dataList, cls, fileName, ExcelWriteOptions.IN_MEMORY);
+  }
+
+  /**
+   * browser download
+   *
+   * @param response http response
+   * @param dataList data list
+   * @param cls class
+   * @param fileName file name
+   * @param options write options, e.g. {@link ExcelWriteOptions#streaming()}
+   * @param <T> object type
+   */
+  public static <T> void writeExcel(
+      @NotNull HttpServletResponse response,
+      @NotNull List<T> dataList,
+      @NotNull Class<T> cls,
+      @NotNull String fileName,
+      @NotNull ExcelWriteOptions options) {
+    Workbook wb = getWorkbook(dataList, cls, options);
     buildExcelDocument(fileName, wb, response);
   }
 
+  /**
+   * browser download of a paged query, pages are fetched from 1 until an empty or short page.
+   * The next page is fetched on the executor while the current one is written to a streaming
+   * workbook, so at most two pages are held in memory
+   *
+   * @param response http response
+   * @param pageSupplier page query, e.g. {@code page -> repository.findAll(page).getContent()}
+   * @param pageSize page size, limited by {@link PageUtil#startPage(int, int, String)}
+   * @param cls class
+   * @param fileName file name
+   * @param executor page query executor
+   * @param <T> object type
+   * @return rows written
+   * @throws UncheckedIOException write exception
+   */
+  public static <T> long writeExcel(
+      @NotNull HttpServletResponse response,
+      @NotNull Function<PageRequest, List<T>> pageSupplier,
+      int pageSize,
+      @NotNull Class<T> cls,
+      @NotNull String fileName,
+      @NotNull Executor executor) {
+    return writeExcel(
+        response, pageSupplier, pageSize, cls, fileName, executor, ExcelWriteOptions.streaming());
+  }
+
+  /**
+   * browser download of a paged query, see {@link #writeExcel(HttpServletResponse, Function, int,
+   * Class, String, Executor)}
+   *
+   * @param response http response
+   * @param pageSupplier page query
+   * @param pageSize page size, limited by {@link PageUtil#startPage(int, int, String)}
+   * @param cls class
+   * @param fileName file name
+   * @param executor page query executor
+   * @param options write options, should be {@link ExcelWriteOptions#streaming()} for big exports
+   * @param <T> object type
+   * @return rows written
+   * @throws UncheckedIOException write exception
+   */
+  public static <T> long writeExcel(
+      @NotNull HttpServletResponse response,
+      @NotNull Function<PageRequest, List<T>> pageSupplier,
+      int pageSize,
+      @NotNull Class<T> cls,
+      @NotNull String fileName,
+      @NotNull Executor executor,
+      @NotNull ExcelWriteOptions options) {
+    Workbook wb = options.createWorkbook();
+    CompletableFuture<List<T>> next = null;
+    try {
+      ExcelSheetWriter<T> writer = new ExcelSheetWriter<>(wb, DEFAULT_SHEET, cls);
+      int pageNum = 1;
+      PageRequest request = PageUtil.startPage(pageNum, pageSize, (String) null);
+      next = fetchPage(pageSupplier, request, executor);
+      while (next != null) {
+        List<T> page = joinPage(next);
+        if (CollectionUtils.isEmpty(page)) {
+          break;
+        }
+        // 预取下一页, 与当前页的写入并行, 最多一页在途
+        next =
+            page.size() < request.getPageSize()
+                ? null
+                : fetchPage(pageSupplier, request = request.next(), executor);
+        writer.write(page);
+      }
+      writeResponse(fileName, wb, response);
+      return writer.getRowCount();
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    } finally {
+      if (next != null) {
+        // 写入失败时取消预取的页: 未开始的查询不再执行, 已完成的 future 不受影响
+        next.cancel(true);
+      }
+      disposeWorkbook(wb);
+    }
+  }
+
+  private static <T> CompletableFuture<List<T>> fetchPage(
+      Function<PageRequest, List<T>> pageSupplier, PageRequest request, Executor executor) {
+    return CompletableFuture.supplyAsync(() -> pageSupplier.apply(request), executor);
+  }
+
+  private static <T> List<T> joinPage(CompletableFuture<List<T>> page) {
+    try {
+      return page.join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      throw e;
+    }
+  }
+
   /**
    * download excel with browser
    *
@@ -264,16 +727,35 @@ public class ExcelUtil {
   private static void buildExcelDocument(
       @NotNull String fileName, @NotNull Workbook wb, @NotNull HttpServletResponse response) {
     try {
-      response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
-      response.setHeader(
-          "Content-Disposition", "attachment;filename=" + URLEncoder.encode(fileName, "utf-8"));
-      response.flushBuffer();
-      wb.write(response.getOutputStream());
+      writeResponse(fileName, wb, response);
     } catch (IOException e) {
       e.printStackTrace();
+    } finally {
+      disposeWorkbook(wb);
     }
   }
 
+  /**
+   * write the workbook to the response in {@link #RESPONSE_BUFFER_SIZE} chunks, the response is
+   * committed after the last chunk
+   *
+   * @param fileName file name
+   * @param wb workbook
+   * @param response http response
+   * @throws IOException write exception
+   */
+  private static void writeResponse(
+      @NotNull String fileName, @NotNull Workbook wb, @NotNull HttpServletResponse response)
+      throws IOException {
+    response.setContentType(MediaType.APPLICATION_OCTET_STREAM_VALUE);
+    response.setHeader(
+        "Content-Disposition", "attachment;filename=" + URLEncoder.encode(fileName, "utf-8"));
+    OutputStream os = new BufferedOutputStream(response.getOutputStream(), RESPONSE_BUFFER_SIZE);
+    wb.write(os);
+    os.flush();
+    response.flushBuffer();
+  }
+
   /**
    * write excel to local path
    *
@@ -281,11 +763,32 @@ public class ExcelUtil {
    * @param cls data entity class
    * @param path local path
    * @param <T> class type
+   * @return written file, bytes and duration
+   * @throws UncheckedIOException write exception, an existing file is left untouched
    */
-  public static <T> void writeLocalExcel(
+  public static <T> FileWriteResult writeLocalExcel(
       @NotNull List<T> dataList, @NotNull Class<T> cls, @NotNull String path) {
-    Workbook wb = getWorkbook(dataList, cls);
-    buildExcelFile(path, wb);
+    return writeLocalExcel(dataList, cls, path, ExcelWriteOptions.IN_MEMORY);
+  }
+
+  /**
+   * write excel to local path
+   *
+   * @param dataList data
+   * @param cls data entity class
+   * @param path local path
+   * @param options write options, e.g. {@link ExcelWriteOptions#streaming()}
+   * @param <T> class type
+   * @return written file, bytes and duration
+   * @throws UncheckedIOException write exception, an existing file is left untouched
+   */
+  public static <T> FileWriteResult writeLocalExcel(
+      @NotNull List<T> dataList,
+      @NotNull Class<T> cls,
+      @NotNull String path,
+      @NotNull ExcelWriteOptions options) {
+    Workbook wb = getWorkbook(dataList, cls, options);
+    return buildExcelFile(path, wb);
   }
 
   /**
@@ -293,31 +796,62 @@ public class ExcelUtil {
    *
    * @param dataList data : value->row index,value->row data
    * @param path local path
+   * @return written file, bytes and duration
+   * @throws UncheckedIOException write exception, an existing file is left untouched
    */
-  public static void writeLocalExcel(
+  public static FileWriteResult writeLocalExcel(
       @NotNull Map<String, List<String>> dataList,
       @NotNull List<String> headers,
       @NotNull String path) {
-    Workbook wb = getWorkbookWithHeaders(dataList, headers);
-    buildExcelFile(path, wb);
+    return writeLocalExcel(dataList, headers, path, ExcelWriteOptions.IN_MEMORY);
   }
 
   /**
-   * write excel wb to file
+   * write excel to local path
    *
+   * @param dataList data : value->row index,value->row data
    * @param path local path
-   * @param wb excel workbook
+   * @param options write options, e.g. {@link ExcelWriteOptions#streaming()}
+   * @return written file, bytes and duration
+   * @throws UncheckedIOException write exception, an existing file is left untouched
    */
-  private static void buildExcelFile(String path, Workbook wb) {
+  public static FileWriteResult writeLocalExcel(
+      @NotNull Map<String, List<String>> dataList,
+      @NotNull List<String> headers,
+      @NotNull String path,
+      @NotNull ExcelWriteOptions options) {
+    Workbook wb = getWorkbookWithHeaders(dataList, headers, options);
+    return buildExcelFile(path, wb);
+  }
 
-    File file = new File(path);
-    if (file.exists()) {
-      file.deleteOnExit();
+  /**
+   * write excel wb to a temp file next to the target and move it over the target
+   *
+   * @param path local path
+   * @param wb excel workbook
+   * @return written file, bytes and duration
+   */
+  private static FileWriteResult buildExcelFile(String path, Workbook wb) {
+    try {
+      FileWriteResult result = AtomicFileWriter.write(Paths.get(path), wb::write);
+      LOGGER.debug("excel file written {}", result);
+      return result;
+    } catch (IOException e) {
+      throw new UncheckedIOException("excel file write error: " + path, e);
+    } finally {
+      disposeWorkbook(wb);
     }
-    try (FileOutputStream fileOutputStream = new FileOutputStream(file)) {
-      wb.write(fileOutputStream);
-    } catch (Exception e) {
-      LOGGER.error("file write error");
+  }
+
+
+  /**
+   * remove the temp files of a streaming workbook
+   *
+   * @param wb excel workbook
+   */
+  private static void disposeWorkbook(Workbook wb) {
+    if (wb instanceof SXSSFWorkbook && !((SXSSFWorkbook) wb).dispose()) {
+      LOGGER.warn("excel temp file dispose error");
     }
   }
 
@@ -326,116 +860,42 @@ public class ExcelUtil {
    *
    * @param dataList entity data list
    * @param cls entity class
+   * @param options write options
    * @param <T> entity class type
    * @return excel workbook
    */
   @NotNull
-  private static <T> Workbook getWorkbook(List<T> dataList, Class<T> cls) {
-    Field[] fields = cls.getDeclaredFields();
-    List<Field> fieldList =
-        Arrays.stream(fields)
-            .filter(
-                field -> {
-                  ExcelColumn annotation = field.getAnnotation(ExcelColumn.class);
-                  if (annotation != null && annotation.col() > 0) {
-                    field.setAccessible(true);
-                    return true;
-                  }
-                  return false;
-                })
-            .sorted(
-                Comparator.comparing(
-                    field -> {
-                      int col = 0;
-                      ExcelColumn annotation = field.getAnnotation(ExcelColumn.class);
-                      if (annotation != null) {
-                        col = annotation.col();
-                      }
-                      return col;
-                    }))
-            .collect(Collectors.toList());
-    Workbook wb = new XSSFWorkbook();
-    Sheet sheet = wb.createSheet(DEFAULT_SHEET);
-    AtomicInteger ai = new AtomicInteger();
-    Row row = sheet.createRow(ai.getAndIncrement());
-    AtomicInteger aj = new AtomicInteger();
-    if (!CollectionUtils.isEmpty(fieldList)) {
-      // 写入类注解头部
-      fieldList.forEach(
-          field -> {
-            ExcelColumn annotation = field.getAnnotation(ExcelColumn.class);
-            String columnName = StringUtils.EMPTY;
-            if (annotation != null) {
-              columnName = annotation.value();
-            }
-            Cell cell = row.createCell(aj.getAndIncrement());
-
-            CellStyle cellStyle = wb.createCellStyle();
-            cellStyle.setFillForegroundColor(IndexedColors.WHITE.getIndex());
-            cellStyle.setFillPattern(CellStyle.SOLID_FOREGROUND);
-            cellStyle.setAlignment(CellStyle.ALIGN_CENTER);
-
-            Font font = wb.createFont();
-            font.setBoldweight(Font.BOLDWEIGHT_NORMAL);
-            cellStyle.setFont(font);
-            cell.setCellStyle(cellStyle);
-            cell.setCellValue(columnName);
-          });
-    }
-    if (!CollectionUtils.isEmpty(dataList)) {
-      dataList.forEach(
-          t -> {
-            Row row1 = sheet.createRow(ai.getAndIncrement());
-            AtomicInteger atomicInteger = new AtomicInteger();
-            fieldList.forEach(
-                field -> {
-                  Object value = StringUtils.EMPTY;
-                  try {
-                    value = field.get(t);
-                  } catch (Exception e) {
-                    e.printStackTrace();
-                  }
-                  Cell cell = row1.createCell(atomicInteger.getAndIncrement());
-                  if (value != null) {
-                    cell.setCellValue(value.toString());
-                  }
-                });
-          });
-    }
-    // freezing current pane
-    wb.getSheet(DEFAULT_SHEET).createFreezePane(0, 1, 0, 1);
+  private static <T> Workbook getWorkbook(
+      List<T> dataList, Class<T> cls, ExcelWriteOptions options) {
+    Workbook wb = options.createWorkbook();
+    new ExcelSheetWriter<>(wb, DEFAULT_SHEET, cls).write(dataList);
     return wb;
   }
 
+
   /**
    * get workbook by data list and headers
    *
    * @param dataList data list
    * @param headers header list
+   * @param options write options
    * @return excel workbook
    */
   @NotNull
   private static Workbook getWorkbookWithHeaders(
-      Map<String, List<String>> dataList, List<String> headers) {
-    Workbook wb = new XSSFWorkbook();
+      Map<String, List<String>> dataList, List<String> headers, ExcelWriteOptions options) {
+    Workbook wb = options.createWorkbook();
     Sheet sheet = wb.createSheet(DEFAULT_SHEET);
     AtomicInteger ai = new AtomicInteger();
     Row row = sheet.createRow(ai.getAndIncrement());
     AtomicInteger aj = new AtomicInteger();
     if (!CollectionUtils.isEmpty(headers)) {
+      CellStyle headerStyle = new ExcelStyleRegistry(wb).get(ExcelStyleRegistry.HEADER);
       // 写入头部
       headers.forEach(
           columnName -> {
             Cell cell = row.createCell(aj.getAndIncrement());
-            CellStyle cellStyle = wb.createCellStyle();
-            cellStyle.setFillForegroundColor(IndexedColors.WHITE.getIndex());
-            cellStyle.setFillPattern(CellStyle.SOLID_FOREGROUND);
-            cellStyle.setAlignment(CellStyle.ALIGN_CENTER);
-
-            Font font = wb.createFont();
-            font.setBoldweight(Font.BOLDWEIGHT_NORMAL);
-            cellStyle.setFont(font);
-            cell.setCellStyle(cellStyle);
+            cell.setCellStyle(headerStyle);
             cell.setCellValue(columnName);
           });
     }
@@ -458,35 +918,4 @@ public class ExcelUtil {
     wb.getSheet(DEFAULT_SHEET).createFreezePane(0, 1, 0, 1);
     return wb;
   }
-
-  /**
-   * get cell value
-   *
-   * @param cell excel cell
-   * @return value
-   */
-  private static String getCellValue(Cell cell) {
-    if (cell == null) {
-      return StringUtils.EMPTY;
-    }
-    if (cell.getCellType() == Cell.CELL_TYPE_NUMERIC) {
-      if (org.apache.poi.ss.usermodel.DateUtil.isCellDateFormatted(cell)) {
-        return DateUtil.getJavaDate(cell.getNumericCellValue()).toString();
-      } else {
-        return BigDecimal.valueOf(cell.getNumericCellValue()).toString();
-      }
-    } else if (cell.getCellType() == Cell.CELL_TYPE_STRING) {
-      return StringUtils.trimToEmpty(cell.getStringCellValue());
-    } else if (cell.getCellType() == Cell.CELL_TYPE_FORMULA) {
-      return StringUtils.trimToEmpty(cell.getCellFormula());
-    } else if (cell.getCellType() == Cell.CELL_TYPE_BLANK) {
-      return StringUtils.EMPTY;
-    } else if (cell.getCellType() == Cell.CELL_TYPE_BOOLEAN) {
-      return String.valueOf(cell.getBooleanCellValue());
-    } else if (cell.getCellType() == Cell.CELL_TYPE_ERROR) {
-      return ERROR_RESULT;
-    } else {
-      return cell.toString().trim();
-    }
-  }
 }
@@ -0,0 +1,81 @@
+package com.tangtongda.open.commons.utils;
+
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+/**
+ * {@link ExcelWriteOptions} excel export options
+ *
+ * <p>In streaming mode rows are written with {@link SXSSFWorkbook}: only the last {@code
+ * rowAccessWindowSize} rows stay on heap, older rows are flushed to a temp file which is removed
+ * after the workbook is written.
+ *
+ * @author <a href="mailto:tangtongda@gmail.com">Tino.Tang</a>
+ * @version ${project.version} - 2026/10/17
+ */
+public final class ExcelWriteOptions {
+
+  /** default rows kept in memory by a streaming workbook */
+  public static final int DEFAULT_ROW_ACCESS_WINDOW = SXSSFWorkbook.DEFAULT_WINDOW_SIZE;
+
+  /** whole workbook in memory, the default of the writeExcel methods without options */
+  public static final ExcelWriteOptions IN_MEMORY = new ExcelWriteOptions(false, 0, false);
+
+  private final boolean streaming;
+  private final int rowAccessWindowSize;
+  private final boolean compressTempFiles;
+
+  private ExcelWriteOptions(boolean streaming, int rowAccessWindowSize, boolean compressTempFiles) {
+    this.streaming = streaming;
+    this.rowAccessWindowSize = rowAccessWindowSize;
+    this.compressTempFiles = compressTempFiles;
+  }
+
+  /**
+   * streaming mode with the default row access window and gzip compressed temp files
+   *
+   * @return options
+   */
+  public static ExcelWriteOptions streaming() {
+    return streaming(DEFAULT_ROW_ACCESS_WINDOW, true);
+  }
+
+  /**
+   * streaming mode
+   *
+   * @param rowAccessWindowSize rows kept in memory, older rows are flushed to the temp file
+   * @param compressTempFiles gzip the temp file, less disk usage for a little more cpu
+   * @return options
+   */
+  public static ExcelWriteOptions streaming(int rowAccessWindowSize, boolean compressTempFiles) {
+    if (rowAccessWindowSize <= 0) {
+      throw new IllegalArgumentException("row access window size must be positive");
+    }
+    return new ExcelWriteOptions(true, rowAccessWindowSize, compressTempFiles);
+  }
+
+  public boolean isStreaming() {
+    return streaming;
+  }
+
+  public int getRowAccessWindowSize() {
+    return rowAccessWindowSize;
+  }
+
+  public boolean isCompressTempFiles() {
+    return compressTempFiles;
+  }
+
+  /**
+   * create an empty workbook for these options
+   *
+   * @return workbook
+   */
+  Workbook createWorkbook() {
+    if (streaming) {
+      return new SXSSFWorkbook(null, rowAccessWindowSize, compressTempFiles);
+    }
+    return new XSSFWorkbook();
+  }
+}
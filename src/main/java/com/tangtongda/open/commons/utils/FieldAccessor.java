@@ -0,0 +1,447 @@
+package com.tangtongda.open.commons.utils;
+
+import org.apache.commons.lang3.ClassUtils;
+import org.apache.commons.lang3.StringUtils;
+
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ObjDoubleConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.ObjLongConsumer;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * {@link FieldAccessor} field getter and setter
+ *
+ * <p>A field with a public getter or setter, e.g. getName/isActive and setName, is accessed through
+ * that method, bound once to a functional interface with {@link LambdaMetafactory}. Calling the
+ * lambda is an ordinary interface call that the jit can inline. Other fields, e.g. private fields
+ * without accessors, use {@link MethodHandle}s. Those handles live in instance fields, so they are
+ * not constants for the jit and {@code invokeExact} through them is not inlined. Fields of type
+ * int, long and double also get primitive accessors, so {@link #getInt}/{@link #setInt} and
+ * friends never box the value.
+ *
+ * @author <a href="mailto:tangtongda@gmail.com">Tino.Tang</a>
+ * @version ${project.version} - 2026/10/17
+ */
+public final class FieldAccessor {
+
+  private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+  private static final MethodType GETTER = MethodType.methodType(Object.class, Object.class);
+  private static final MethodType SETTER =
+      MethodType.methodType(void.class, Object.class, Object.class);
+
+  private static final Map<Field, FieldAccessor> cache = new ConcurrentHashMap<>();
+
+  private final Field field;
+
+  /** lambdas of the getter and setter methods, null if the field has none */
+  private final Function<Object, Object> getMethod;
+  private final BiConsumer<Object, Object> setMethod;
+  private final ToIntFunction<Object> intGetMethod;
+  private final ObjIntConsumer<Object> intSetMethod;
+  private final ToLongFunction<Object> longGetMethod;
+  private final ObjLongConsumer<Object> longSetMethod;
+  private final ToDoubleFunction<Object> doubleGetMethod;
+  private final ObjDoubleConsumer<Object> doubleSetMethod;
+
+  /** field handles, null if the field has an accessor method */
+  private final MethodHandle getter;
+  private final MethodHandle setter;
+  private final MethodHandle primitiveGetter;
+  private final MethodHandle primitiveSetter;
+
+  private FieldAccessor(Field field) {
+    this.field = field;
+    field.setAccessible(true);
+    Class<?> type = field.getType();
+    Method getterMethod = accessorMethodOf(field, true);
+    Method setterMethod = accessorMethodOf(field, false);
+    this.getMethod = lambda(Function.class, "apply", GETTER, getterMethod);
+    this.setMethod = lambda(BiConsumer.class, "accept", SETTER, setterMethod);
+    MethodType intGetter = MethodType.methodType(int.class, Object.class);
+    MethodType longGetter = MethodType.methodType(long.class, Object.class);
+    MethodType doubleGetter = MethodType.methodType(double.class, Object.class);
+    this.intGetMethod =
+        type == int.class
+            ? lambda(ToIntFunction.class, "applyAsInt", intGetter, getterMethod)
+            : null;
+    this.longGetMethod =
+        type == long.class
+            ? lambda(ToLongFunction.class, "applyAsLong", longGetter, getterMethod)
+            : null;
+    this.doubleGetMethod =
+        type == double.class
+            ? lambda(ToDoubleFunction.class, "applyAsDouble", doubleGetter, getterMethod)
+            : null;
+    this.intSetMethod =
+        type == int.class
+            ? lambda(ObjIntConsumer.class, "accept", primitiveSetter(int.class), setterMethod)
+            : null;
+    this.longSetMethod =
+        type == long.class
+            ? lambda(ObjLongConsumer.class, "accept", primitiveSetter(long.class), setterMethod)
+            : null;
+    this.doubleSetMethod =
+        type == double.class
+            ? lambda(ObjDoubleConsumer.class, "accept", primitiveSetter(double.class), setterMethod)
+            : null;
+    MethodHandle get = getterMethod == null ? getterOf(field) : null;
+    MethodHandle set = setterMethod == null ? setterOf(field) : null;
+    this.getter = get == null ? null : get.asType(GETTER);
+    this.setter = set == null ? null : set.asType(SETTER);
+    if (type == int.class || type == long.class || type == double.class) {
+      this.primitiveGetter =
+          get == null ? null : get.asType(MethodType.methodType(type, Object.class));
+      this.primitiveSetter = set == null ? null : set.asType(primitiveSetter(type));
+    } else {
+      this.primitiveGetter = null;
+      this.primitiveSetter = null;
+    }
+  }
+
+  /**
+   * get the cached accessor of a field
+   *
+   * @param field field, made accessible on first use
+   * @return accessor
+   */
+  public static FieldAccessor of(Field field) {
+    return cache.computeIfAbsent(field, FieldAccessor::new);
+  }
+
+  public Field getField() {
+    return field;
+  }
+
+  public String getName() {
+    return field.getName();
+  }
+
+  public Class<?> getType() {
+    return field.getType();
+  }
+
+  /**
+   * read the field value, primitives are boxed
+   *
+   * @param target target object, ignored for static fields
+   * @return field value
+   */
+  public Object get(Object target) {
+    if (getMethod != null) {
+      return getMethod.apply(target);
+    }
+    try {
+      return getter.invokeExact(target);
+    } catch (Throwable e) {
+      throw rethrow(e);
+    }
+  }
+
+  /**
+   * write the field value, primitives are unboxed
+   *
+   * @param target target object, ignored for static fields
+   * @param value field value
+   */
+  public void set(Object target, Object value) {
+    if (setMethod != null) {
+      setMethod.accept(target, value);
+      return;
+    }
+    checkWritable();
+    try {
+      setter.invokeExact(target, value);
+    } catch (Throwable e) {
+      throw rethrow(e);
+    }
+  }
+
+  /**
+   * read an int field without boxing, other number fields are converted
+   *
+   * @param target target object
+   * @return field value
+   */
+  public int getInt(Object target) {
+    if (field.getType() != int.class) {
+      return ((Number) get(target)).intValue();
+    }
+    if (intGetMethod != null) {
+      return intGetMethod.applyAsInt(target);
+    }
+    try {
+      return (int) primitiveGetter.invokeExact(target);
+    } catch (Throwable e) {
+      throw rethrow(e);
+    }
+  }
+
+  /**
+   * write an int field without boxing, other fields get the boxed value
+   *
+   * @param target target object
+   * @param value field value
+   */
+  public void setInt(Object target, int value) {
+    if (field.getType() != int.class) {
+      set(target, value);
+      return;
+    }
+    if (intSetMethod != null) {
+      intSetMethod.accept(target, value);
+      return;
+    }
+    checkWritable();
+    try {
+      primitiveSetter.invokeExact(target, value);
+    } catch (Throwable e) {
+      throw rethrow(e);
+    }
+  }
+
+  /**
+   * read a long field without boxing, other number fields are converted
+   *
+   * @param target target object
+   * @return field value
+   */
+  public long getLong(Object target) {
+    if (field.getType() != long.class) {
+      return ((Number) get(target)).longValue();
+    }
+    if (longGetMethod != null) {
+      return longGetMethod.applyAsLong(target);
+    }
+    try {
+      return (long) primitiveGetter.invokeExact(target);
+    } catch (Throwable e) {
+      throw rethrow(e);
+    }
+  }
+
+  /**
+   * write a long field without boxing, other fields get the boxed value
+   *
+   * @param target target object
+   * @param value field value
+   */
+  public void setLong(Object target, long value) {
+    if (field.getType() != long.class) {
+      set(target, value);
+      return;
+    }
+    if (longSetMethod != null) {
+      longSetMethod.accept(target, value);
+      return;
+    }
+    checkWritable();
+    try {
+      primitiveSetter.invokeExact(target, value);
+    } catch (Throwable e) {
+      throw rethrow(e);
+    }
+  }
+
+  /**
+   * read a double field without boxing, other number fields are converted
+   *
+   * @param target target object
+   * @return field value
+   */
+  public double getDouble(Object target) {
+    if (field.getType() != double.class) {
+      return ((Number) get(target)).doubleValue();
+    }
+    if (doubleGetMethod != null) {
+      return doubleGetMethod.applyAsDouble(target);
+    }
+    try {
+      return (double) primitiveGetter.invokeExact(target);
+    } catch (Throwable e) {
+      throw rethrow(e);
+    }
+  }
+
+  /**
+   * write a double field without boxing, other fields get the boxed value
+   *
+   * @param target target object
+   * @param value field value
+   */
+  public void setDouble(Object target, double value) {
+    if (field.getType() != double.class) {
+      set(target, value);
+      return;
+    }
+    if (doubleSetMethod != null) {
+      doubleSetMethod.accept(target, value);
+      return;
+    }
+    checkWritable();
+    try {
+      primitiveSetter.invokeExact(target, value);
+    } catch (Throwable e) {
+      throw rethrow(e);
+    }
+  }
+
+  private void checkWritable() {
+    if (setter == null) {
+      throw new UnsupportedOperationException("field " + field + " is read only");
+    }
+  }
+
+  private static MethodType primitiveSetter(Class<?> type) {
+    return MethodType.methodType(void.class, Object.class, type);
+  }
+
+  /**
+   * public getter or setter of an instance field that a lambda next to this class can call
+   *
+   * @param field field
+   * @param getter getter or setter
+   * @return method, null if the field has none
+   */
+  private static Method accessorMethodOf(Field field, boolean getter) {
+    Class<?> type = field.getType();
+    if (Modifier.isStatic(field.getModifiers()) || !getter && !isLinkable(type)) {
+      return null;
+    }
+    String property = StringUtils.capitalize(field.getName());
+    String[] names =
+        !getter
+            ? new String[] {"set" + property}
+            : type == boolean.class
+                ? new String[] {"is" + property, "get" + property}
+                : new String[] {"get" + property};
+    for (String name : names) {
+      try {
+        Method method =
+            getter
+                ? field.getDeclaringClass().getMethod(name)
+                : field.getDeclaringClass().getMethod(name, type);
+        if (!Modifier.isStatic(method.getModifiers())
+            && isLinkable(method.getDeclaringClass())
+            && method.getExceptionTypes().length == 0
+            && (!getter || method.getReturnType() == type)) {
+          return method;
+        }
+      } catch (NoSuchMethodException e) {
+        // try the next name
+      }
+    }
+    return null;
+  }
+
+  /**
+   * the lambdas are defined next to this class, they can only link to public classes that its
+   * class loader resolves to the same class
+   *
+   * @param cls class
+   * @return true if a lambda can use the class
+   */
+  private static boolean isLinkable(Class<?> cls) {
+    if (cls.isPrimitive()) {
+      return true;
+    }
+    if (cls.isArray()) {
+      return isLinkable(cls.getComponentType());
+    }
+    if (!Modifier.isPublic(cls.getModifiers())) {
+      return false;
+    }
+    try {
+      return Class.forName(cls.getName(), false, FieldAccessor.class.getClassLoader()) == cls;
+    } catch (ClassNotFoundException | LinkageError e) {
+      return false;
+    }
+  }
+
+  /**
+   * bind an accessor method to a functional interface
+   *
+   * @param samType functional interface
+   * @param samName interface method name
+   * @param samMethodType erased interface method type, the target first
+   * @param method getter or setter, may be null
+   * @param <T> functional interface type
+   * @return lambda, null if the method is null
+   */
+  @SuppressWarnings("unchecked")
+  private static <T> T lambda(
+      Class<?> samType, String samName, MethodType samMethodType, Method method) {
+    if (method == null) {
+      return null;
+    }
+    MethodType instantiated = samMethodType.changeParameterType(0, method.getDeclaringClass());
+    if (samMethodType.parameterCount() == 2 && samMethodType.parameterType(1) == Object.class) {
+      // the setter unboxes the value of a primitive field
+      instantiated =
+          instantiated.changeParameterType(
+              1, ClassUtils.primitiveToWrapper(method.getParameterTypes()[0]));
+    }
+    try {
+      return (T)
+          LambdaMetafactory.metafactory(
+                  LOOKUP,
+                  samName,
+                  MethodType.methodType(samType),
+                  samMethodType,
+                  LOOKUP.unreflect(method),
+                  instantiated)
+              .getTarget()
+              .invoke();
+    } catch (Throwable e) {
+      throw new IllegalStateException("accessor " + method + " can not be bound", e);
+    }
+  }
+
+  private static MethodHandle getterOf(Field field) {
+    try {
+      MethodHandle handle = LOOKUP.unreflectGetter(field);
+      if (Modifier.isStatic(field.getModifiers())) {
+        handle = MethodHandles.dropArguments(handle, 0, Object.class);
+      }
+      return handle;
+    } catch (IllegalAccessException e) {
+      throw new IllegalStateException("field " + field + " is not accessible", e);
+    }
+  }
+
+  private static MethodHandle setterOf(Field field) {
+    try {
+      MethodHandle handle = LOOKUP.unreflectSetter(field);
+      if (Modifier.isStatic(field.getModifiers())) {
+        handle = MethodHandles.dropArguments(handle, 0, Object.class);
+      }
+      return handle;
+    } catch (IllegalAccessException e) {
+      // static final fields
+      return null;
+    }
+  }
+
+  private static RuntimeException rethrow(Throwable e) {
+    if (e instanceof RuntimeException) {
+      return (RuntimeException) e;
+    }
+    if (e instanceof Error) {
+      throw (Error) e;
+    }
+    return new IllegalStateException(e);
+  }
+}
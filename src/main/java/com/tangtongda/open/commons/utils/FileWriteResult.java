@@ -0,0 +1,62 @@
+package com.tangtongda.open.commons.utils;
+
+import java.nio.file.Path;
+
+/**
+ * {@link FileWriteResult} outcome of a local export by {@link ExcelUtil#writeLocalExcel} or {@link
+ * CsvUtil#writeLocalCsv}
+ *
+ * @author <a href="mailto:tangtongda@gmail.com">Tino.Tang</a>
+ * @version ${project.version} - 2026/10/17
+ */
+public final class FileWriteResult {
+
+  private final Path path;
+  private final long bytes;
+  private final long elapsedMillis;
+
+  FileWriteResult(Path path, long bytes, long elapsedMillis) {
+    this.path = path;
+    this.bytes = bytes;
+    this.elapsedMillis = elapsedMillis;
+  }
+
+  /**
+   * written file
+   *
+   * @return file path
+   */
+  public Path getPath() {
+    return path;
+  }
+
+  /**
+   * file size
+   *
+   * @return bytes written
+   */
+  public long getBytes() {
+    return bytes;
+  }
+
+  /**
+   * wall clock time from the first byte to the file replacement
+   *
+   * @return millis
+   */
+  public long getElapsedMillis() {
+    return elapsedMillis;
+  }
+
+  @Override
+  public String toString() {
+    return "FileWriteResult{"
+        + "path="
+        + path
+        + ", bytes="
+        + bytes
+        + ", elapsedMillis="
+        + elapsedMillis
+        + '}';
+  }
+}
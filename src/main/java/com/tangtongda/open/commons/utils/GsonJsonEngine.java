@@ -0,0 +1,74 @@
+package com.tangtongda.open.commons.utils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link GsonJsonEngine} {@link JsonEngine} backed by the shared gson of {@link GsonUtil}, so
+ * adapters registered there apply to {@link JsonUtil} as well
+ *
+ * @author <a href="mailto:tangtongda@gmail.com">Tino.Tang</a>
+ * @version ${project.version} - 2026/10/17
+ */
+final class GsonJsonEngine implements JsonEngine {
+
+  static final GsonJsonEngine INSTANCE = new GsonJsonEngine();
+
+  private GsonJsonEngine() {}
+
+  @Override
+  public String beanToString(Object object) {
+    return GsonUtil.beanToString(object);
+  }
+
+  @Override
+  public <T> T stringToBean(String json, Class<T> cls) {
+    return GsonUtil.stringToBean(json, cls);
+  }
+
+  @Override
+  public <T> List<T> stringToList(String json) {
+    return GsonUtil.stringToList(json);
+  }
+
+  @Override
+  public <T> Set<T> stringToSet(String json) {
+    return GsonUtil.stringToSet(json);
+  }
+
+  @Override
+  public <T> List<T> stringToBeanList(String json, Class<T> cls) {
+    return GsonUtil.stringToBeanList(json, cls);
+  }
+
+  @Override
+  public <T> Set<T> stringToBeanSet(String json, Class<T> cls) {
+    return GsonUtil.stringToBeanSet(json, cls);
+  }
+
+  @Override
+  public <T> List<Map<String, T>> stringToListMaps(String json) {
+    return GsonUtil.stringToListMaps(json);
+  }
+
+  @Override
+  public <T> Map<String, T> stringToMap(String json) {
+    return GsonUtil.stringToMap(json);
+  }
+
+  @Override
+  public <E, T> T mapToBean(Map<String, E> map, Class<T> cls) {
+    return GsonUtil.mapToBean(map, cls);
+  }
+
+  @Override
+  public <T> Map<String, T> beanToMap(Object object) {
+    return GsonUtil.beanToMap(object);
+  }
+
+  @Override
+  public <E, T> T deepCopyBean(E e, Class<T> cls) {
+    return GsonUtil.deepCopyBean(e, cls);
+  }
+}
@@ -2,10 +2,36 @@ package com.tangtongda.open.commons.utils;
 
 import com.google.gson.*;
 import com.google.gson.reflect.TypeToken;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import com.google.gson.stream.MalformedJsonException;
 
 import javax.validation.constraints.NotNull;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * {@link GsonUtil} google gson tools
@@ -17,12 +43,111 @@ public abstract class GsonUtil {
 
   private static final String NORM_DATETIME_PATTERN = "yyyy-MM-dd HH:mm:ss";
 
-  private static Gson gson = null;
+  /** map type of stringToMap and beanToMap, primitive values become strings */
+  private static final Type MAP_TYPE = new TypeToken<HashMap<String, Object>>() {}.getType();
+
+  /** guards the registrations below and the rebuild of {@link #gson} */
+  private static final Object LOCK = new Object();
+
+  /** adapters registered by type, later registrations win */
+  private static final Map<Type, Object> TYPE_ADAPTERS = new LinkedHashMap<>();
+
+  /** adapters registered for a type and its subtypes */
+  private static final Map<Class<?>, Object> HIERARCHY_ADAPTERS = new LinkedHashMap<>();
+
+  private static final List<TypeAdapterFactory> ADAPTER_FACTORIES = new ArrayList<>();
+
+  /** pre-warmed types, warmed again whenever the gson is rebuilt */
+  private static final Set<TypeToken<?>> WARM_TYPES = new LinkedHashSet<>();
+
+  private static final TypeAdapter<Integer> INT_ADAPTER =
+      integralAdapter("an int", Integer.MIN_VALUE, Integer.MAX_VALUE, value -> (int) value);
+
+  private static final TypeAdapter<Long> LONG_ADAPTER =
+      integralAdapter("a long", Long.MIN_VALUE, Long.MAX_VALUE, Long::valueOf);
+
+  private static final TypeAdapter<Short> SHORT_ADAPTER =
+      integralAdapter("a short", Short.MIN_VALUE, Short.MAX_VALUE, value -> (short) value);
+
+  private static final TypeAdapter<Byte> BYTE_ADAPTER =
+      integralAdapter("a byte", Byte.MIN_VALUE, Byte.MAX_VALUE, value -> (byte) value);
+
+  private static volatile Gson gson = null;
 
   private GsonUtil() {
     throw new InstantiationError("Must not instantiate this class");
   }
 
+  /**
+   * register an adapter for one type, e.g. a code generated {@link TypeAdapter} of a hot dto. The
+   * shared gson is rebuilt and the pre-warmed types are resolved again
+   *
+   * @param type target type
+   * @param typeAdapter {@link TypeAdapter}, {@link JsonSerializer}, {@link JsonDeserializer} or
+   *     {@link InstanceCreator}
+   */
+  public static void registerTypeAdapter(@NotNull Type type, @NotNull Object typeAdapter) {
+    synchronized (LOCK) {
+      TYPE_ADAPTERS.remove(type);
+      TYPE_ADAPTERS.put(type, typeAdapter);
+      rebuild();
+    }
+  }
+
+  /**
+   * register an adapter for a type and all of its subtypes
+   *
+   * @param baseType base type
+   * @param typeAdapter {@link TypeAdapter}, {@link JsonSerializer} or {@link JsonDeserializer}
+   */
+  public static void registerTypeHierarchyAdapter(
+      @NotNull Class<?> baseType, @NotNull Object typeAdapter) {
+    synchronized (LOCK) {
+      HIERARCHY_ADAPTERS.remove(baseType);
+      HIERARCHY_ADAPTERS.put(baseType, typeAdapter);
+      rebuild();
+    }
+  }
+
+  /**
+   * register an adapter factory, e.g. the generated factory of an annotation processor
+   *
+   * @param factory adapter factory, consulted before the reflective adapters
+   */
+  public static void registerTypeAdapterFactory(@NotNull TypeAdapterFactory factory) {
+    synchronized (LOCK) {
+      ADAPTER_FACTORIES.add(factory);
+      rebuild();
+    }
+  }
+
+  /**
+   * resolve and cache the adapters of the given types now, so the first request after startup
+   * does not pay for the reflective lookup. Call it once the adapters are registered
+   *
+   * @param types classes or parameterized types
+   * @throws IllegalArgumentException gson can not handle a type
+   */
+  public static void prewarm(@NotNull Type... types) {
+    synchronized (LOCK) {
+      Gson current = gson;
+      for (Type type : types) {
+        TypeToken<?> token = TypeToken.get(type);
+        current.getAdapter(token);
+        WARM_TYPES.add(token);
+      }
+    }
+  }
+
+  /**
+   * the shared gson, for adapters and callers that need the same configuration
+   *
+   * @return gson instance
+   */
+  public static Gson getGson() {
+    return gson;
+  }
+
   /**
    * object to json string
    *
@@ -33,6 +158,28 @@ public abstract class GsonUtil {
     return gson.toJson(object);
   }
 
+  /**
+   * object to json tree, no json string is built
+   *
+   * @param object object data
+   * @return json element, {@link JsonNull} for null
+   */
+  public static @NotNull JsonElement beanToTree(Object object) {
+    return gson.toJsonTree(object);
+  }
+
+  /**
+   * json tree to object
+   *
+   * @param element json element
+   * @param cls object class
+   * @param <T> class type
+   * @return object
+   */
+  public static <T> T treeToBean(JsonElement element, Class<T> cls) {
+    return gson.fromJson(element, cls);
+  }
+
   /**
    * json string to object
    *
@@ -45,6 +192,86 @@ public abstract class GsonUtil {
     return gson.fromJson(gsonString, cls);
   }
 
+  /**
+   * object to UTF-8 json bytes, no json string is built
+   *
+   * @param object object data
+   * @return UTF-8 json
+   */
+  public static byte[] beanToBytes(Object object) {
+    ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+    beanToStream(object, outputStream);
+    return outputStream.toByteArray();
+  }
+
+  /**
+   * write an object as UTF-8 json, the stream is flushed but not closed
+   *
+   * @param object object data
+   * @param outputStream target stream
+   * @throws JsonIOException write exception
+   */
+  public static void beanToStream(Object object, @NotNull OutputStream outputStream) {
+    try {
+      Writer writer = new OutputStreamWriter(outputStream, StandardCharsets.UTF_8);
+      if (object == null) {
+        gson.toJson(JsonNull.INSTANCE, writer);
+      } else {
+        gson.toJson(object, object.getClass(), writer);
+      }
+      writer.flush();
+    } catch (IOException e) {
+      throw new JsonIOException(e);
+    }
+  }
+
+  /**
+   * UTF-8 json bytes to object
+   *
+   * @param json UTF-8 json
+   * @param cls object class
+   * @param <T> class type
+   * @return object, null for empty input
+   */
+  public static <T> T stringToBean(@NotNull byte[] json, Class<T> cls) {
+    return stringToBean(new ByteArrayInputStream(json), cls);
+  }
+
+  /**
+   * UTF-8 json stream to object, decoded while it is parsed
+   *
+   * @param inputStream json source, closed when done
+   * @param cls object class
+   * @param <T> class type
+   * @return object, null for empty input
+   */
+  public static <T> T stringToBean(@NotNull InputStream inputStream, Class<T> cls) {
+    try (Reader reader = toReader(inputStream)) {
+      return gson.fromJson(reader, cls);
+    } catch (IOException e) {
+      throw new JsonIOException(e);
+    }
+  }
+
+  /**
+   * UTF-8 json buffer to object, the remaining bytes are read and the buffer position is left
+   * unchanged
+   *
+   * @param json UTF-8 json
+   * @param cls object class
+   * @param <T> class type
+   * @return object, null for empty input
+   */
+  public static <T> T stringToBean(@NotNull ByteBuffer json, Class<T> cls) {
+    if (json.hasArray()) {
+      return stringToBean(
+          new ByteArrayInputStream(
+              json.array(), json.arrayOffset() + json.position(), json.remaining()),
+          cls);
+    }
+    return stringToBean(new ByteBufferInputStream(json.duplicate()), cls);
+  }
+
   /**
    * json string to list
    *
@@ -74,16 +301,31 @@ public abstract class GsonUtil {
    * @return object list
    */
   public static <T> List<T> stringToBeanList(String gsonString, Class<T> cls) {
-    List<T> list = new ArrayList<>();
-    JsonArray array = (new JsonParser()).parse(gsonString).getAsJsonArray();
-    Iterator<JsonElement> var4 = array.iterator();
-    if (var4.hasNext()) {
-      do {
-        JsonElement elem = var4.next();
-        list.add(gson.fromJson(elem, cls));
-      } while (var4.hasNext());
-    }
-    return list;
+    return collect(new StringReader(gsonString), cls, new ArrayList<>());
+  }
+
+  /**
+   * json array to class list, elements are read one by one without building a json tree
+   *
+   * @param reader json source, closed when done
+   * @param cls object class
+   * @param <T> class type
+   * @return object list
+   */
+  public static <T> List<T> stringToBeanList(@NotNull Reader reader, Class<T> cls) {
+    return collect(reader, cls, new ArrayList<>());
+  }
+
+  /**
+   * UTF-8 json array to class list
+   *
+   * @param inputStream json source, closed when done
+   * @param cls object class
+   * @param <T> class type
+   * @return object list
+   */
+  public static <T> List<T> stringToBeanList(@NotNull InputStream inputStream, Class<T> cls) {
+    return stringToBeanList(toReader(inputStream), cls);
   }
 
   /**
@@ -95,16 +337,132 @@ public abstract class GsonUtil {
    * @return object list
    */
   public static <T> Set<T> stringToBeanSet(String gsonString, Class<T> cls) {
-    Set<T> set = new HashSet<>();
-    JsonArray array = (new JsonParser()).parse(gsonString).getAsJsonArray();
-    Iterator<JsonElement> var4 = array.iterator();
-    if (var4.hasNext()) {
-      do {
-        JsonElement elem = var4.next();
-        set.add(gson.fromJson(elem, cls));
-      } while (var4.hasNext());
-    }
-    return set;
+    return collect(new StringReader(gsonString), cls, new HashSet<>());
+  }
+
+  /**
+   * json array to class set, elements are read one by one without building a json tree
+   *
+   * @param reader json source, closed when done
+   * @param cls object class
+   * @param <T> class type
+   * @return object set
+   */
+  public static <T> Set<T> stringToBeanSet(@NotNull Reader reader, Class<T> cls) {
+    return collect(reader, cls, new HashSet<>());
+  }
+
+  /**
+   * UTF-8 json array to class set
+   *
+   * @param inputStream json source, closed when done
+   * @param cls object class
+   * @param <T> class type
+   * @return object set
+   */
+  public static <T> Set<T> stringToBeanSet(@NotNull InputStream inputStream, Class<T> cls) {
+    return stringToBeanSet(toReader(inputStream), cls);
+  }
+
+  /**
+   * lazy iterator over a json array, only the current element is held so huge arrays can be
+   * processed in constant memory. The caller closes the reader
+   *
+   * @param reader json source
+   * @param cls object class
+   * @param <T> class type
+   * @return element iterator, throws {@link JsonSyntaxException} on malformed json
+   */
+  public static <T> Iterator<T> iterateBeans(@NotNull Reader reader, Class<T> cls) {
+    return new JsonArrayIterator<>(new JsonReader(reader), gson.getAdapter(cls));
+  }
+
+  /**
+   * lazy stream over a json array. The stream must be closed, e.g. with try-with-resources
+   *
+   * @param reader json source, closed with the stream
+   * @param cls object class
+   * @param <T> class type
+   * @return element stream
+   */
+  public static <T> Stream<T> streamBeans(@NotNull Reader reader, Class<T> cls) {
+    JsonArrayIterator<T> iterator =
+        new JsonArrayIterator<>(new JsonReader(reader), gson.getAdapter(cls));
+    return StreamSupport.stream(
+            Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+        .onClose(
+            () -> {
+              try {
+                iterator.close();
+              } catch (IOException e) {
+                throw new UncheckedIOException("json close error", e);
+              }
+            });
+  }
+
+  /**
+   * lazy stream over a UTF-8 json array
+   *
+   * @param inputStream json source, closed with the stream
+   * @param cls object class
+   * @param <T> class type
+   * @return element stream
+   */
+  public static <T> Stream<T> streamBeans(@NotNull InputStream inputStream, Class<T> cls) {
+    return streamBeans(toReader(inputStream), cls);
+  }
+
+  /**
+   * values at a json path like "$.data.items[*].id", the json is streamed and the subtrees off the
+   * path are skipped without being built. Supported steps: .name, ['name'], [0], [*] and .*
+   *
+   * @param gsonString json string
+   * @param path json path
+   * @return matched values in document order
+   * @throws IllegalArgumentException invalid path
+   */
+  public static List<JsonElement> extract(String gsonString, @NotNull String path) {
+    return extract(new StringReader(gsonString), path, JsonElement.class);
+  }
+
+  /**
+   * values at a json path read as the given class, see {@link #extract(String, String)}
+   *
+   * @param gsonString json string
+   * @param path json path
+   * @param cls value class
+   * @param <T> class type
+   * @return matched values in document order
+   */
+  public static <T> List<T> extract(String gsonString, @NotNull String path, Class<T> cls) {
+    return extract(new StringReader(gsonString), path, cls);
+  }
+
+  /**
+   * values at a json path read as the given class
+   *
+   * @param reader json source, closed when done
+   * @param path json path
+   * @param cls value class
+   * @param <T> class type
+   * @return matched values in document order
+   */
+  public static <T> List<T> extract(@NotNull Reader reader, @NotNull String path, Class<T> cls) {
+    return extract(reader, path, cls, Integer.MAX_VALUE);
+  }
+
+  /**
+   * first value at a json path, the rest of the json is not read once it is found
+   *
+   * @param gsonString json string
+   * @param path json path
+   * @param cls value class
+   * @param <T> class type
+   * @return first matched value, null if the path does not match
+   */
+  public static <T> T extractFirst(String gsonString, @NotNull String path, Class<T> cls) {
+    List<T> values = extract(new StringReader(gsonString), path, cls, 1);
+    return values.isEmpty() ? null : values.get(0);
   }
 
   /**
@@ -126,8 +484,7 @@ public abstract class GsonUtil {
    * @return map
    */
   public static @NotNull <T> Map<String, T> stringToMap(String gsonString) {
-    Type typeToken = new TypeToken<HashMap<String, Object>>() {}.getType();
-    return gson.fromJson(gsonString, typeToken);
+    return gson.fromJson(gsonString, MAP_TYPE);
   }
 
   /**
@@ -138,8 +495,7 @@ public abstract class GsonUtil {
    * @return map
    */
   public static @NotNull <E, T> T mapToBean(Map<String, E> map, Class<T> cls) {
-    String gsonString = gson.toJson(map);
-    return stringToBean(gsonString, cls);
+    return gson.fromJson(gson.toJsonTree(map), cls);
   }
 
   /**
@@ -150,8 +506,7 @@ public abstract class GsonUtil {
    * @return map
    */
   public static @NotNull <T> Map<String, T> beanToMap(Object object) {
-    Type typeToken = new TypeToken<HashMap<String, Object>>() {}.getType();
-    return gson.fromJson(gson.toJson(object), typeToken);
+    return gson.fromJson(gson.toJsonTree(object), MAP_TYPE);
   }
 
   /**
@@ -164,32 +519,214 @@ public abstract class GsonUtil {
    * @return target bean response
    */
   public static @NotNull <E, T> T deepCopyBean(E e, Class<T> cls) {
-    String gsonString = gson.toJson(e);
-    return gson.fromJson(gsonString, cls);
+    return gson.fromJson(gson.toJsonTree(e), cls);
   }
 
-  static {
+  private static <T, C extends Collection<T>> C collect(Reader reader, Class<T> cls, C target) {
+    try (JsonArrayIterator<T> iterator =
+        new JsonArrayIterator<>(new JsonReader(reader), gson.getAdapter(cls))) {
+      while (iterator.hasNext()) {
+        target.add(iterator.next());
+      }
+      iterator.requireEnd();
+      return target;
+    } catch (IOException e) {
+      throw new JsonIOException(e);
+    }
+  }
+
+  private static <T> List<T> extract(Reader reader, String path, Class<T> cls, int limit) {
+    JsonPath jsonPath = JsonPath.compile(path);
+    try (JsonReader in = new JsonReader(reader)) {
+      return jsonPath.read(in, gson.getAdapter(cls), limit);
+    } catch (IOException e) {
+      throw new JsonIOException(e);
+    }
+  }
+
+  /**
+   * map a read failure of a {@link JsonReader} to the exception gson throws for it, like {@link
+   * Gson#fromJson(JsonReader, Type)}
+   *
+   * @param e read exception, or the {@link IllegalStateException} of an unexpected token
+   * @return {@link JsonSyntaxException} for malformed json, {@link JsonIOException} otherwise
+   */
+  static JsonParseException toJsonException(Exception e) {
+    if (e instanceof MalformedJsonException
+        || e instanceof EOFException
+        || e instanceof IllegalStateException) {
+      return new JsonSyntaxException(e);
+    }
+    return new JsonIOException(e);
+  }
+
+  private static Reader toReader(InputStream inputStream) {
+    return new InputStreamReader(inputStream, StandardCharsets.UTF_8);
+  }
+
+  /** build a new gson from the registrations and warm it before publishing it */
+  private static void rebuild() {
+    GsonBuilder builder = newBuilder();
+    TYPE_ADAPTERS.forEach(builder::registerTypeAdapter);
+    HIERARCHY_ADAPTERS.forEach(builder::registerTypeHierarchyAdapter);
+    ADAPTER_FACTORIES.forEach(builder::registerTypeAdapterFactory);
+    Gson rebuilt = builder.create();
+    for (TypeToken<?> token : WARM_TYPES) {
+      rebuilt.getAdapter(token);
+    }
+    gson = rebuilt;
+  }
+
+  private static GsonBuilder newBuilder() {
     // 解决gson格式化日期时，无法序列化timestamp的问题
-    gson =
-        new GsonBuilder()
-            .setDateFormat(NORM_DATETIME_PATTERN)
-            .registerTypeAdapter(
-                new TypeToken<HashMap<String, Object>>() {}.getType(),
-                (JsonDeserializer<HashMap<String, Object>>)
-                    (json, typeOfT, context) -> {
-                      HashMap<String, Object> hashMap = new HashMap<>();
-                      JsonObject jsonObject = json.getAsJsonObject();
-                      Set<Map.Entry<String, JsonElement>> entrySet = jsonObject.entrySet();
-                      for (Map.Entry<String, JsonElement> entry : entrySet) {
-                        Object ot = entry.getValue();
-                        if (ot instanceof JsonPrimitive) {
-                          hashMap.put(entry.getKey(), ((JsonPrimitive) ot).getAsString());
-                        } else {
-                          hashMap.put(entry.getKey(), ot);
-                        }
-                      }
-                      return hashMap;
-                    })
-            .create();
+    return new GsonBuilder()
+        // other Date subclasses, the common date types use the DateCodec adapters below
+        .setDateFormat(NORM_DATETIME_PATTERN)
+        .registerTypeAdapter(Date.class, dateAdapter(DateCodec::format, DateCodec::parseDate))
+        .registerTypeAdapter(
+            Timestamp.class,
+            dateAdapter(
+                DateCodec::format, text -> new Timestamp(DateCodec.parseDate(text).getTime())))
+        .registerTypeAdapter(
+            java.sql.Date.class,
+            dateAdapter(
+                DateCodec::format,
+                text -> new java.sql.Date(DateCodec.parseDate(text).getTime())))
+        .registerTypeAdapter(
+            LocalDateTime.class,
+            dateAdapter(DateCodec::format, DateCodec::parseLocalDateTime))
+        .registerTypeAdapter(
+            Instant.class, dateAdapter(DateCodec::format, DateCodec::parseInstant))
+        .registerTypeAdapter(int.class, INT_ADAPTER)
+        .registerTypeAdapter(Integer.class, INT_ADAPTER)
+        .registerTypeAdapter(long.class, LONG_ADAPTER)
+        .registerTypeAdapter(Long.class, LONG_ADAPTER)
+        .registerTypeAdapter(short.class, SHORT_ADAPTER)
+        .registerTypeAdapter(Short.class, SHORT_ADAPTER)
+        .registerTypeAdapter(byte.class, BYTE_ADAPTER)
+        .registerTypeAdapter(Byte.class, BYTE_ADAPTER)
+        .registerTypeAdapter(
+            MAP_TYPE,
+            (JsonDeserializer<HashMap<String, Object>>)
+                (json, typeOfT, context) -> {
+                  HashMap<String, Object> hashMap = new HashMap<>();
+                  JsonObject jsonObject = json.getAsJsonObject();
+                  Set<Map.Entry<String, JsonElement>> entrySet = jsonObject.entrySet();
+                  for (Map.Entry<String, JsonElement> entry : entrySet) {
+                    Object ot = entry.getValue();
+                    if (ot instanceof JsonPrimitive) {
+                      hashMap.put(entry.getKey(), ((JsonPrimitive) ot).getAsString());
+                    } else {
+                      hashMap.put(entry.getKey(), ot);
+                    }
+                  }
+                  return hashMap;
+                });
+  }
+
+  /**
+   * integral adapter that rejects a fraction or a value out of range. The default gson adapters
+   * narrow them silently when they read a tree, {@link JsonPrimitive#getAsInt()} casts the number
+   *
+   * @param type type name of the error message
+   * @param min min value
+   * @param max max value
+   * @param boxer long to the boxed type
+   * @param <T> integral type
+   * @return null safe adapter
+   */
+  private static <T extends Number> TypeAdapter<T> integralAdapter(
+      String type, long min, long max, LongFunction<T> boxer) {
+    return new TypeAdapter<T>() {
+      @Override
+      public void write(JsonWriter out, T value) throws IOException {
+        out.value(value);
+      }
+
+      @Override
+      public T read(JsonReader in) throws IOException {
+        String text = in.nextString();
+        long value;
+        try {
+          value = Long.parseLong(text);
+        } catch (NumberFormatException e) {
+          try {
+            // 1.0 and 1e2 are integers, like JsonReader.nextInt accepts them
+            value = new BigDecimal(text).longValueExact();
+          } catch (NumberFormatException | ArithmeticException ex) {
+            throw new JsonSyntaxException("Expected " + type + " but was " + text, ex);
+          }
+        }
+        if (value < min || value > max) {
+          throw new JsonSyntaxException("Expected " + type + " but was " + text);
+        }
+        return boxer.apply(value);
+      }
+    }.nullSafe();
+  }
+
+  /**
+   * date adapter on top of {@link DateCodec}, no shared {@link java.text.SimpleDateFormat} to lock
+   *
+   * @param formatter value to text
+   * @param parser text to value
+   * @param <T> date type
+   * @return null safe adapter
+   */
+  private static <T> TypeAdapter<T> dateAdapter(
+      Function<T, String> formatter, Function<String, T> parser) {
+    return new TypeAdapter<T>() {
+      @Override
+      public void write(JsonWriter out, T value) throws IOException {
+        out.value(formatter.apply(value));
+      }
+
+      @Override
+      public T read(JsonReader in) throws IOException {
+        String text = in.nextString();
+        try {
+          return parser.apply(text);
+        } catch (DateTimeException e) {
+          throw new JsonSyntaxException(text, e);
+        }
+      }
+    }.nullSafe();
+  }
+
+  static {
+    gson = newBuilder().create();
+  }
+
+  /** reads a direct buffer without copying it to an array first */
+  private static final class ByteBufferInputStream extends InputStream {
+
+    private final ByteBuffer buffer;
+
+    private ByteBufferInputStream(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+      return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      if (len == 0) {
+        return 0;
+      }
+      if (!buffer.hasRemaining()) {
+        return -1;
+      }
+      int read = Math.min(len, buffer.remaining());
+      buffer.get(b, off, read);
+      return read;
+    }
+
+    @Override
+    public int available() {
+      return buffer.remaining();
+    }
   }
 }
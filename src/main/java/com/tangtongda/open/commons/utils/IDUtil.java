@@ -1,7 +1,18 @@
 package com.tangtongda.open.commons.utils;
 
-import java.util.Random;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.validation.constraints.NotNull;
+import java.lang.management.ManagementFactory;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Arrays;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * {@link IDUtil} uuId generator util
@@ -15,21 +26,82 @@ public abstract class IDUtil {
   }
 
   public static final Integer ID_LENGTH = 18;
+
+  /**
+   * system property with the worker id of {@link #longId()}, 0 to 255 and distinct per node of a
+   * cluster. Without it the worker id is hashed from the process name and a warning is logged, the
+   * hash only suits a single node: among 20 nodes two share a hashed worker id, and so produce
+   * duplicate ids, about half of the time
+   */
+  public static final String WORKER_ID_PROPERTY = "snowflake.worker.id";
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(IDUtil.class);
+
+  private static volatile SnowflakeIdGenerator idGenerator;
+
+  /** length of a {@link #uuid()} */
+  public static final int UUID_LENGTH = 22;
+
   private static final String TO_BASE_64_URL =
       "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_";
+  private static final char[] BASE_64_URL = TO_BASE_64_URL.toCharArray();
+  private static final byte[] BASE_64_URL_DECODE = new byte[128];
+
+  /** length of a {@link #ulid()} */
+  public static final int ULID_LENGTH = 26;
+
+  private static final char[] CROCKFORD_32 = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+  private static final byte[] CROCKFORD_32_DECODE = new byte[128];
+
+  static {
+    Arrays.fill(BASE_64_URL_DECODE, (byte) -1);
+    for (int i = 0; i < BASE_64_URL.length; i++) {
+      BASE_64_URL_DECODE[BASE_64_URL[i]] = (byte) i;
+    }
+    Arrays.fill(CROCKFORD_32_DECODE, (byte) -1);
+    for (int i = 0; i < CROCKFORD_32.length; i++) {
+      CROCKFORD_32_DECODE[CROCKFORD_32[i]] = (byte) i;
+      CROCKFORD_32_DECODE[Character.toLowerCase(CROCKFORD_32[i])] = (byte) i;
+    }
+    CROCKFORD_32_DECODE['I'] = CROCKFORD_32_DECODE['i'] = 1;
+    CROCKFORD_32_DECODE['L'] = CROCKFORD_32_DECODE['l'] = 1;
+    CROCKFORD_32_DECODE['O'] = CROCKFORD_32_DECODE['o'] = 0;
+  }
+
+  /** uuids generated per random call of the bulk methods */
+  private static final int BULK_CHUNK = 256;
+
+  private static volatile UuidMode uuidMode = UuidMode.SECURE;
+
+  /** random source of the uuids */
+  public enum UuidMode {
+    /** {@link UUID#randomUUID()}, one SecureRandom shared by all threads */
+    SECURE,
+    /** one SHA1PRNG SecureRandom per thread, each seeded from the system entropy */
+    THREAD_SECURE,
+    /** {@link ThreadLocalRandom}, fastest but predictable, not for tokens or secrets */
+    FAST
+  }
 
   /**
-   * get Long type uuId
+   * get Long type uuId, a snowflake id of the default generator, see {@link #WORKER_ID_PROPERTY}
    *
-   * @return 18 length Long uuId
+   * @return 18 length Long uuId, increasing
+   * @throws IllegalArgumentException {@link #WORKER_ID_PROPERTY} is not a valid worker id
    */
   public static Long longId() {
-    StringBuilder randomStr = new StringBuilder(String.valueOf(System.currentTimeMillis()));
-    randomStr.append(new Random().nextInt(99999));
-    while (randomStr.length() < ID_LENGTH) {
-      randomStr.append("0");
-    }
-    return Long.parseLong(randomStr.toString());
+    return idGenerator().nextId();
+  }
+
+  /**
+   * get n Long type uuIds with one atomic update
+   *
+   * @param n id count
+   * @return increasing ids
+   * @throws IllegalArgumentException {@link #WORKER_ID_PROPERTY} is not a valid worker id
+   */
+  public static long[] longIds(int n) {
+    return idGenerator().nextIds(n);
   }
 
   /**
@@ -38,10 +110,352 @@ public abstract class IDUtil {
    * @return 22 length UUID
    */
   public static String uuid() {
-    UUID uuid = UUID.randomUUID();
+    if (uuidMode == UuidMode.SECURE) {
+      UUID uuid = UUID.randomUUID();
+      return base64Encode(uuid);
+    }
+    long mostSigBits;
+    long leastSigBits;
+    if (uuidMode == UuidMode.FAST) {
+      ThreadLocalRandom random = ThreadLocalRandom.current();
+      mostSigBits = random.nextLong();
+      leastSigBits = random.nextLong();
+    } else {
+      SecureRandom random = SecureRandomHolder.THREAD.get();
+      mostSigBits = random.nextLong();
+      leastSigBits = random.nextLong();
+    }
+    char[] chs = new char[UUID_LENGTH];
+    base64Encode(
+        mostSigBits & ~0xF000L | 0x4000L,
+        leastSigBits & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L,
+        chs,
+        0);
+    return new String(chs);
+  }
+
+  /**
+   * switch the random source of {@link #uuid()} and the bulk methods
+   *
+   * @param mode uuid random source
+   */
+  public static void setUuidMode(@NotNull UuidMode mode) {
+    uuidMode = mode;
+  }
+
+  /**
+   * current random source of {@link #uuid()}
+   *
+   * @return uuid mode
+   */
+  public static UuidMode getUuidMode() {
+    return uuidMode;
+  }
+
+  /**
+   * fill a buffer with random version 4 uuids, two longs per uuid, most significant bits first
+   *
+   * @param buffer target buffer
+   * @param offset first index
+   * @param count uuid count, needs 2 * count longs
+   */
+  public static void uuids(@NotNull long[] buffer, int offset, int count) {
+    checkRange(buffer.length, offset, count, 2);
+    fillRandom(buffer, offset, count);
+  }
+
+  /**
+   * fill a buffer with 22 length uuid strings back to back, same encoding as {@link #uuid()}
+   *
+   * @param buffer target buffer
+   * @param offset first index
+   * @param count uuid count, needs 22 * count chars
+   */
+  public static void uuids(@NotNull char[] buffer, int offset, int count) {
+    checkRange(buffer.length, offset, count, UUID_LENGTH);
+    long[] bits = new long[2 * Math.min(count, BULK_CHUNK)];
+    for (int done = 0; done < count; ) {
+      int chunk = Math.min(count - done, BULK_CHUNK);
+      fillRandom(bits, 0, chunk);
+      for (int i = 0; i < chunk; i++, done++) {
+        base64Encode(bits[2 * i], bits[2 * i + 1], buffer, offset + done * UUID_LENGTH);
+      }
+    }
+  }
+
+  /**
+   * write a random version 4 uuid as 16 bytes in network byte order, whatever the buffer order
+   *
+   * @param buffer target buffer, advanced by 16 bytes
+   */
+  public static void uuid(@NotNull ByteBuffer buffer) {
+    uuids(buffer, 1);
+  }
+
+  /**
+   * write random version 4 uuids as 16 bytes each in network byte order
+   *
+   * @param buffer target buffer, advanced by 16 * count bytes
+   * @param count uuid count
+   * @throws java.nio.BufferOverflowException not enough space, nothing is written
+   */
+  public static void uuids(@NotNull ByteBuffer buffer, int count) {
+    if (count < 0) {
+      throw new IllegalArgumentException("uuid count must not be negative: " + count);
+    }
+    if (buffer.remaining() < 16L * count) {
+      throw new BufferOverflowException();
+    }
+    boolean bigEndian = buffer.order() == ByteOrder.BIG_ENDIAN;
+    long[] bits = new long[2 * Math.min(count, BULK_CHUNK)];
+    for (int done = 0; done < count; ) {
+      int chunk = Math.min(count - done, BULK_CHUNK);
+      fillRandom(bits, 0, chunk);
+      for (int i = 0; i < 2 * chunk; i++) {
+        buffer.putLong(bigEndian ? bits[i] : Long.reverseBytes(bits[i]));
+      }
+      done += chunk;
+    }
+  }
+
+  /**
+   * encode a uuid as a 22 length id, the encoding of {@link #uuid()}
+   *
+   * @param uuid uuid
+   * @return 22 length id
+   */
+  public static String encodeUuid(@NotNull UUID uuid) {
     return base64Encode(uuid);
   }
 
+  /**
+   * encode 128 bits as a 22 length id
+   *
+   * @param most most significant bits
+   * @param least least significant bits
+   * @return 22 length id
+   */
+  public static String encodeUuid(long most, long least) {
+    char[] chs = new char[UUID_LENGTH];
+    base64Encode(most, least, chs, 0);
+    return new String(chs);
+  }
+
+  /**
+   * decode a 22 length id of {@link #uuid()} or {@link #encodeUuid(UUID)}
+   *
+   * @param id 22 length id
+   * @return uuid
+   * @throws IllegalArgumentException not a 22 length id
+   */
+  public static UUID decodeUuid(@NotNull CharSequence id) {
+    long[] bits = new long[2];
+    decodeUuid(id, bits);
+    return new UUID(bits[0], bits[1]);
+  }
+
+  /**
+   * decode a 22 length id without allocation
+   *
+   * @param id 22 length id
+   * @param bits target, most significant bits at 0 and least significant bits at 1
+   * @throws IllegalArgumentException not a 22 length id
+   */
+  public static void decodeUuid(@NotNull CharSequence id, @NotNull long[] bits) {
+    if (id.length() != UUID_LENGTH) {
+      throw new IllegalArgumentException("id must have 22 chars: " + id);
+    }
+    long most = 0;
+    long least = 0;
+    for (int i = 0; i < UUID_LENGTH; i++) {
+      char c = id.charAt(i);
+      int value = c < 128 ? BASE_64_URL_DECODE[c] : -1;
+      // the first char only holds the top 2 bits
+      if (value < 0 || (i == 0 && value > 3)) {
+        throw new IllegalArgumentException("invalid id: " + id);
+      }
+      most = most << 6 | least >>> 58;
+      least = least << 6 | value;
+    }
+    bits[0] = most;
+    bits[1] = least;
+  }
+
+  /**
+   * time ordered version 7 uuid: 48 bits of epoch milliseconds, a 12 bit counter that keeps ids of
+   * the same millisecond increasing, then 62 random bits
+   *
+   * @return uuid, greater than all uuidV7 generated before in this process
+   */
+  public static UUID uuidV7() {
+    return new UUID(OrderedIdState.V7.nextUuidV7MostBits(), randomV7LeastBits());
+  }
+
+  /**
+   * {@link #uuidV7()} as a 22 length string, same encoding as {@link #uuid()}. Ids of the same
+   * period share their leading chars, the base64 url alphabet is not in ascii order so only the
+   * {@link UUID} and {@link #ulid()} forms sort exactly
+   *
+   * @return 22 length time ordered id
+   */
+  public static String orderedUuid() {
+    char[] chs = new char[UUID_LENGTH];
+    base64Encode(OrderedIdState.V7.nextUuidV7MostBits(), randomV7LeastBits(), chs, 0);
+    return new String(chs);
+  }
+
+  /**
+   * ulid: 48 bits of epoch milliseconds and 80 random bits in 26 crockford base32 chars. Ids of the
+   * same millisecond increment the random part, so ulids sort by time as strings
+   *
+   * @return 26 length ulid
+   */
+  public static String ulid() {
+    char[] chs = new char[ULID_LENGTH];
+    long[] bits = new long[2];
+    OrderedIdState.ULID.nextUlid(bits);
+    encodeUlid(bits[0], bits[1], chs, 0);
+    return new String(chs);
+  }
+
+  /**
+   * write the next ulid bits, allocation free
+   *
+   * @param bits target, most significant bits at 0 and least significant bits at 1
+   */
+  public static void ulid(@NotNull long[] bits) {
+    OrderedIdState.ULID.nextUlid(bits);
+  }
+
+  /**
+   * encode 128 bits as 26 crockford base32 chars
+   *
+   * @param most most significant bits
+   * @param least least significant bits
+   * @param chs target buffer
+   * @param offset first index, 26 chars are written
+   */
+  public static void encodeUlid(long most, long least, @NotNull char[] chs, int offset) {
+    checkRange(chs.length, offset, 1, ULID_LENGTH);
+    for (int k = offset + ULID_LENGTH - 1; k >= offset; k--) {
+      chs[k] = CROCKFORD_32[(int) (least & 0x1f)];
+      least = least >>> 5 | most << 59;
+      most >>>= 5;
+    }
+  }
+
+  /**
+   * decode a 26 char crockford base32 ulid, case insensitive, I and L read as 1 and O as 0
+   *
+   * @param ulid ulid text
+   * @param bits target, most significant bits at 0 and least significant bits at 1
+   * @throws IllegalArgumentException not a ulid
+   */
+  public static void decodeUlid(@NotNull CharSequence ulid, @NotNull long[] bits) {
+    if (ulid.length() != ULID_LENGTH) {
+      throw new IllegalArgumentException("ulid must have 26 chars: " + ulid);
+    }
+    long most = 0;
+    long least = 0;
+    for (int i = 0; i < ULID_LENGTH; i++) {
+      char c = ulid.charAt(i);
+      int value = c < 128 ? CROCKFORD_32_DECODE[c] : -1;
+      if (value < 0 || (i == 0 && value > 7)) {
+        throw new IllegalArgumentException("invalid ulid: " + ulid);
+      }
+      most = most << 5 | least >>> 59;
+      least = least << 5 | value;
+    }
+    bits[0] = most;
+    bits[1] = least;
+  }
+
+  /**
+   * epoch milliseconds of a ulid
+   *
+   * @param ulid ulid text
+   * @return epoch milliseconds
+   */
+  public static long ulidTimestamp(@NotNull CharSequence ulid) {
+    long[] bits = new long[2];
+    decodeUlid(ulid, bits);
+    return bits[0] >>> 16;
+  }
+
+  /**
+   * random uuid bits with the version 4 and IETF variant bits set
+   *
+   * @param buffer target buffer
+   * @param offset first index
+   * @param count uuid count
+   */
+  private static void fillRandom(long[] buffer, int offset, int count) {
+    UuidMode mode = uuidMode;
+    int end = offset + 2 * count;
+    if (mode == UuidMode.FAST) {
+      ThreadLocalRandom random = ThreadLocalRandom.current();
+      for (int i = offset; i < end; i++) {
+        buffer[i] = random.nextLong();
+      }
+    } else {
+      SecureRandom random =
+          mode == UuidMode.SECURE ? SecureRandomHolder.SHARED : SecureRandomHolder.THREAD.get();
+      byte[] chunk = SecureRandomHolder.CHUNK_BYTES.get();
+      byte[] id = SecureRandomHolder.ID_BYTES.get();
+      for (int i = offset; i < end; ) {
+        // one call per full chunk, the shared generator is locked once per chunk instead of per id.
+        // A short tail does not pay for a whole chunk of random bytes
+        byte[] bytes = end - i >= chunk.length / 8 ? chunk : id;
+        random.nextBytes(bytes);
+        for (int j = 0; j < bytes.length; j += 8, i++) {
+          buffer[i] = bigEndianLong(bytes, j);
+        }
+      }
+    }
+    for (int i = offset; i < end; i += 2) {
+      buffer[i] = buffer[i] & ~0xF000L | 0x4000L;
+      buffer[i + 1] = buffer[i + 1] & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+    }
+  }
+
+  private static long bigEndianLong(byte[] bytes, int index) {
+    long value = 0;
+    for (int i = index; i < index + 8; i++) {
+      value = value << 8 | bytes[i] & 0xFFL;
+    }
+    return value;
+  }
+
+  /**
+   * 64 random bits from the source of the current {@link UuidMode}
+   *
+   * @return random bits
+   */
+  private static long randomLong() {
+    UuidMode mode = uuidMode;
+    if (mode == UuidMode.FAST) {
+      return ThreadLocalRandom.current().nextLong();
+    }
+    return (mode == UuidMode.SECURE ? SecureRandomHolder.SHARED : SecureRandomHolder.THREAD.get())
+        .nextLong();
+  }
+
+  /**
+   * random least significant bits of a version 7 uuid, IETF variant
+   *
+   * @return least significant bits
+   */
+  private static long randomV7LeastBits() {
+    return randomLong() & 0x3FFFFFFFFFFFFFFFL | 0x8000000000000000L;
+  }
+
+  private static void checkRange(int length, int offset, int count, int width) {
+    if (offset < 0 || count < 0 || offset + (long) count * width > length) {
+      throw new IndexOutOfBoundsException(
+          "offset " + offset + ", count " + count + ", buffer length " + length);
+    }
+  }
+
   /**
    * base64 encode
    *
@@ -49,20 +463,30 @@ public abstract class IDUtil {
    * @return id
    */
   private static String base64Encode(UUID uuid) {
-    char[] chs = new char[22];
-    long most = uuid.getMostSignificantBits();
-    long least = uuid.getLeastSignificantBits();
-    int k = chs.length - 1;
+    char[] chs = new char[UUID_LENGTH];
+    base64Encode(uuid.getMostSignificantBits(), uuid.getLeastSignificantBits(), chs, 0);
+    return new String(chs);
+  }
+
+  /**
+   * base64 encode 128 bits into 22 chars
+   *
+   * @param most most significant bits
+   * @param least least significant bits
+   * @param chs target buffer
+   * @param offset first index
+   */
+  private static void base64Encode(long most, long least, char[] chs, int offset) {
+    int k = offset + UUID_LENGTH - 1;
     for (int i = 0; i < 10; i++, least >>>= 6) {
-      chs[k--] = TO_BASE_64_URL.charAt((int) (least & 0x3f));
+      chs[k--] = BASE_64_URL[(int) (least & 0x3f)];
     }
-    chs[k--] = TO_BASE_64_URL.charAt((int) ((least & 0x3f) | ((most & 0x03) << 4)));
+    chs[k--] = BASE_64_URL[(int) ((least & 0x3f) | ((most & 0x03) << 4))];
     most >>>= 2;
     for (int i = 0; i < 10; i++, most >>>= 6) {
-      chs[k--] = TO_BASE_64_URL.charAt((int) (most & 0x3f));
+      chs[k--] = BASE_64_URL[(int) (most & 0x3f)];
     }
-    chs[k] = TO_BASE_64_URL.charAt((int) most);
-    return new String(chs);
+    chs[k] = BASE_64_URL[(int) most];
   }
 
   /**
@@ -72,13 +496,9 @@ public abstract class IDUtil {
    * @return base64Encode string
    */
   private static String base64Encode(String uuId) {
-    StringBuilder sb = new StringBuilder(uuId);
-    sb.insert(20, '-');
-    sb.insert(16, '-');
-    sb.insert(12, '-');
-    sb.insert(8, '-');
-    UUID uuid = UUID.fromString(sb.toString());
-    return base64Encode(uuid);
+    return encodeUuid(
+        Long.parseUnsignedLong(uuId.substring(0, 16), 16),
+        Long.parseUnsignedLong(uuId.substring(16, 32), 16));
   }
 
   /**
@@ -88,16 +508,149 @@ public abstract class IDUtil {
    * @return id
    */
   private static String base64Decode(String base64) {
-    StringBuilder sb = new StringBuilder();
-    for (int i = base64.length(); i > 0; i -= 2) {
-      int c1 = TO_BASE_64_URL.indexOf(String.valueOf(base64.charAt(i - 1)));
-      int c2 = TO_BASE_64_URL.indexOf(String.valueOf(base64.charAt(i - 2)));
-      sb.insert(0, Integer.toHexString(c1 & 0xf));
-      sb.insert(0, Integer.toHexString((c1 >>> 4 & 0x3) | (c2 << 2 & 0xc)));
-      if (i != 2) {
-        sb.insert(0, Integer.toHexString(c2 >>> 2 & 0xf));
+    long[] bits = new long[2];
+    decodeUuid(base64, bits);
+    char[] chs = new char[32];
+    for (int i = 15; i >= 0; i--, bits[0] >>>= 4, bits[1] >>>= 4) {
+      chs[i] = Character.forDigit((int) (bits[0] & 0xf), 16);
+      chs[i + 16] = Character.forDigit((int) (bits[1] & 0xf), 16);
+    }
+    return new String(chs);
+  }
+
+  /**
+   * default generator, created on the first longId call. Not a holder class, a bad worker id
+   * property must fail each call with a clear message instead of breaking class initialization
+   *
+   * @return generator
+   * @throws IllegalArgumentException the worker id property is not a valid worker id
+   */
+  private static SnowflakeIdGenerator idGenerator() {
+    SnowflakeIdGenerator generator = idGenerator;
+    if (generator == null) {
+      synchronized (IDUtil.class) {
+        generator = idGenerator;
+        if (generator == null) {
+          generator = new SnowflakeIdGenerator(workerId());
+          idGenerator = generator;
+        }
+      }
+    }
+    return generator;
+  }
+
+  private static long workerId() {
+    long max = (1L << SnowflakeIdGenerator.DEFAULT_WORKER_BITS) - 1;
+    String configured = System.getProperty(WORKER_ID_PROPERTY);
+    if (configured == null) {
+      // "pid@hostname", distinct processes may well share the hashed id
+      String name = ManagementFactory.getRuntimeMXBean().getName();
+      long workerId = (name.hashCode() * 0x9E3779B9L >>> 16) & max;
+      LOGGER.warn(
+          "system property {} is not set, using worker id {} hashed from {}. Ids are only unique"
+              + " within this process, set a distinct worker id per node in a cluster",
+          WORKER_ID_PROPERTY,
+          workerId,
+          name);
+      return workerId;
+    }
+    long workerId;
+    try {
+      workerId = Long.parseLong(configured.trim());
+    } catch (NumberFormatException e) {
+      throw new IllegalArgumentException(
+          "system property " + WORKER_ID_PROPERTY + " is not a number: " + configured, e);
+    }
+    if (workerId < 0 || workerId > max) {
+      throw new IllegalArgumentException(
+          "system property " + WORKER_ID_PROPERTY + " must be between 0 and " + max + ": "
+              + configured);
+    }
+    return workerId;
+  }
+
+  /** secure random sources, created on first use */
+  private static final class SecureRandomHolder {
+
+    private static final SecureRandom SHARED = new SecureRandom();
+
+    private static final ThreadLocal<SecureRandom> THREAD =
+        ThreadLocal.withInitial(SecureRandomHolder::newThreadRandom);
+
+    /** random bytes of one bulk chunk, reused by the thread */
+    private static final ThreadLocal<byte[]> CHUNK_BYTES =
+        ThreadLocal.withInitial(() -> new byte[16 * BULK_CHUNK]);
+
+    /** random bytes of one uuid, reused by the thread */
+    private static final ThreadLocal<byte[]> ID_BYTES = ThreadLocal.withInitial(() -> new byte[16]);
+
+    private static SecureRandom newThreadRandom() {
+      try {
+        // pure java generator with a per instance lock, seeds itself on first use
+        return SecureRandom.getInstance("SHA1PRNG");
+      } catch (NoSuchAlgorithmException e) {
+        return new SecureRandom();
+      }
+    }
+  }
+
+  /**
+   * last millisecond and counter of the time ordered ids. A used up counter carries into the next
+   * millisecond and a clock that moves back keeps the last millisecond, so ids never go backwards
+   */
+  private static final class OrderedIdState {
+
+    private static final OrderedIdState V7 = new OrderedIdState();
+    private static final OrderedIdState ULID = new OrderedIdState();
+
+    private static final long V7_COUNTER_MASK = 0xFFFL;
+    private static final long ULID_HIGH_MASK = 0xFFFFL;
+
+    private long lastMillis;
+
+    /** uuid v7 rand_a counter, or the high 16 random bits of a ulid */
+    private long high;
+
+    /** low 64 random bits of a ulid */
+    private long low;
+
+    /**
+     * next uuid v7 timestamp and counter
+     *
+     * @return version 7 most significant bits
+     */
+    private synchronized long nextUuidV7MostBits() {
+      long now = System.currentTimeMillis();
+      if (now > lastMillis) {
+        lastMillis = now;
+        // random start with the top bit clear leaves room to count
+        high = randomLong() & (V7_COUNTER_MASK >>> 1);
+      } else if (high < V7_COUNTER_MASK) {
+        high++;
+      } else {
+        lastMillis++;
+        high = 0;
+      }
+      return lastMillis << 16 | 0x7000L | high;
+    }
+
+    /**
+     * next ulid timestamp and random bits
+     *
+     * @param bits target, most significant bits at 0 and least significant bits at 1
+     */
+    private synchronized void nextUlid(long[] bits) {
+      long now = System.currentTimeMillis();
+      if (now > lastMillis) {
+        lastMillis = now;
+        high = randomLong() & ULID_HIGH_MASK;
+        low = randomLong();
+      } else if (++low == 0 && (high = (high + 1) & ULID_HIGH_MASK) == 0) {
+        // 80 random bits used up in one millisecond, carry into the next one
+        lastMillis++;
       }
+      bits[0] = lastMillis << 16 | high;
+      bits[1] = low;
     }
-    return sb.toString();
   }
 }
@@ -0,0 +1,329 @@
+package com.tangtongda.open.commons.utils;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.deser.std.UntypedObjectDeserializer;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.node.NullNode;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.databind.type.TypeFactory;
+import org.apache.commons.lang3.StringUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Timestamp;
+import java.text.SimpleDateFormat;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * {@link JacksonJsonEngine} {@link JsonEngine} backed by jackson databind, configured to map beans
+ * like gson: fields only, null fields left out, unknown properties ignored. Nested values of the
+ * flattened maps are {@link JsonNode}s
+ *
+ * @author <a href="mailto:tangtongda@gmail.com">Tino.Tang</a>
+ * @version ${project.version} - 2026/10/17
+ */
+final class JacksonJsonEngine implements JsonEngine {
+
+  static final JacksonJsonEngine INSTANCE = new JacksonJsonEngine();
+
+  private final ObjectMapper mapper;
+
+  /** reads a nested value of a document, the rest of the document follows it */
+  private final ObjectReader nestedReader;
+  private final JavaType listType;
+  private final JavaType setType;
+  private final JavaType listMapsType;
+
+  private JacksonJsonEngine() {
+    this.mapper =
+        new ObjectMapper()
+            .setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.NONE)
+            .setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY)
+            .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+            // gson rejects content after the document
+            .configure(DeserializationFeature.FAIL_ON_TRAILING_TOKENS, true)
+            // gson rejects a fraction for an integral field instead of truncating it
+            .configure(DeserializationFeature.ACCEPT_FLOAT_AS_INT, false)
+            .configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false)
+            // reading other Date subclasses, the date types of gson share the DateCodec
+            .setDateFormat(new SimpleDateFormat(DateCodec.NORM_DATETIME_PATTERN))
+            .registerModule(gsonModule());
+    this.nestedReader =
+        mapper.readerFor(JsonNode.class).without(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+    TypeFactory types = mapper.getTypeFactory();
+    this.listType = types.constructCollectionType(ArrayList.class, Object.class);
+    // gson collects a Set<Object> in a LinkedHashSet
+    this.setType = types.constructCollectionType(LinkedHashSet.class, Object.class);
+    this.listMapsType =
+        types.constructCollectionType(
+            ArrayList.class, types.constructMapType(HashMap.class, String.class, Object.class));
+  }
+
+  @Override
+  public String beanToString(Object object) {
+    try {
+      return mapper.writeValueAsString(object);
+    } catch (JsonProcessingException e) {
+      throw new UncheckedIOException("json write error", e);
+    }
+  }
+
+  @Override
+  public <T> T stringToBean(String json, Class<T> cls) {
+    return readNullable(json, mapper.constructType(cls));
+  }
+
+  @Override
+  public <T> List<T> stringToList(String json) {
+    return readNullable(json, listType);
+  }
+
+  @Override
+  public <T> Set<T> stringToSet(String json) {
+    return readNullable(json, setType);
+  }
+
+  @Override
+  public <T> List<T> stringToBeanList(String json, Class<T> cls) {
+    return readArray(json, mapper.getTypeFactory().constructCollectionType(ArrayList.class, cls));
+  }
+
+  @Override
+  public <T> Set<T> stringToBeanSet(String json, Class<T> cls) {
+    return readArray(json, mapper.getTypeFactory().constructCollectionType(HashSet.class, cls));
+  }
+
+  @Override
+  public <T> List<Map<String, T>> stringToListMaps(String json) {
+    return readNullable(json, listMapsType);
+  }
+
+  /**
+   * primitive values keep their json text like gson, eg: 1e20 stays "1e20", nested values are
+   * read as trees
+   */
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> Map<String, T> stringToMap(String json) {
+    if (StringUtils.isBlank(json)) {
+      return null;
+    }
+    try (JsonParser p = mapper.getFactory().createParser(json)) {
+      JsonToken token = p.nextToken();
+      if (token == JsonToken.VALUE_NULL) {
+        return null;
+      }
+      if (token != JsonToken.START_OBJECT) {
+        throw new IllegalStateException("Not a JSON Object: " + p.getText());
+      }
+      HashMap<String, Object> hashMap = new HashMap<>();
+      while (p.nextToken() == JsonToken.FIELD_NAME) {
+        String name = p.getCurrentName();
+        JsonToken value = p.nextToken();
+        if (value == JsonToken.VALUE_NULL) {
+          hashMap.put(name, NullNode.getInstance());
+        } else if (value.isScalarValue()) {
+          hashMap.put(name, p.getText());
+        } else {
+          hashMap.put(name, nestedReader.readTree(p));
+        }
+      }
+      if (p.nextToken() != null) {
+        throw new JsonParseException(p, "Trailing token after the JSON Object: " + p.getText());
+      }
+      return (Map<String, T>) hashMap;
+    } catch (IOException e) {
+      throw new UncheckedIOException("json parse error", e);
+    }
+  }
+
+  @Override
+  public <E, T> T mapToBean(Map<String, E> map, Class<T> cls) {
+    return treeToValue(mapper.valueToTree(map), cls);
+  }
+
+  @Override
+  public <T> Map<String, T> beanToMap(Object object) {
+    return flatten(mapper.valueToTree(object));
+  }
+
+  @Override
+  public <E, T> T deepCopyBean(E e, Class<T> cls) {
+    return treeToValue(mapper.valueToTree(e), cls);
+  }
+
+  private <T> T read(String json, JavaType type) {
+    try {
+      return mapper.readValue(json, type);
+    } catch (JsonProcessingException e) {
+      throw new UncheckedIOException("json parse error", e);
+    }
+  }
+
+  /** gson returns null for a null, empty or blank document */
+  private <T> T readNullable(String json, JavaType type) {
+    return StringUtils.isBlank(json) ? null : read(json, type);
+  }
+
+  /** the bean collections of gson require an array, a json null included */
+  private <T> T readArray(String json, JavaType type) {
+    T value = read(json, type);
+    if (value == null) {
+      throw new IllegalStateException("Not a JSON Array: null");
+    }
+    return value;
+  }
+
+  private <T> T treeToValue(JsonNode node, Class<T> cls) {
+    try {
+      return mapper.treeToValue(node, cls);
+    } catch (JsonProcessingException e) {
+      throw new UncheckedIOException("json convert error", e);
+    }
+  }
+
+  /**
+   * value types that jackson writes unlike gson: the dates of the shared {@link DateCodec}, byte
+   * arrays as number arrays instead of base64 and untyped numbers read as doubles
+   *
+   * @return module
+   */
+  private static SimpleModule gsonModule() {
+    SimpleModule module = new SimpleModule("GsonCompatible");
+    addDateType(module, Date.class, DateCodec::format, DateCodec::parseDate);
+    addDateType(
+        module,
+        Timestamp.class,
+        DateCodec::format,
+        text -> new Timestamp(DateCodec.parseDate(text).getTime()));
+    addDateType(
+        module,
+        java.sql.Date.class,
+        DateCodec::format,
+        text -> new java.sql.Date(DateCodec.parseDate(text).getTime()));
+    addDateType(module, LocalDateTime.class, DateCodec::format, DateCodec::parseLocalDateTime);
+    addDateType(module, Instant.class, DateCodec::format, DateCodec::parseInstant);
+    module.addSerializer(
+        byte[].class,
+        new StdSerializer<byte[]>(byte[].class) {
+          @Override
+          public void serialize(byte[] value, JsonGenerator gen, SerializerProvider provider)
+              throws IOException {
+            gen.writeStartArray();
+            for (byte b : value) {
+              gen.writeNumber(b);
+            }
+            gen.writeEndArray();
+          }
+        });
+    module.addDeserializer(Object.class, new DoubleUntypedDeserializer());
+    return module;
+  }
+
+  private static <T> void addDateType(
+      SimpleModule module,
+      Class<T> type,
+      Function<T, String> formatter,
+      Function<String, T> parser) {
+    module.addSerializer(
+        type,
+        new StdSerializer<T>(type) {
+          @Override
+          public void serialize(T value, JsonGenerator gen, SerializerProvider provider)
+              throws IOException {
+            gen.writeString(formatter.apply(value));
+          }
+        });
+    module.addDeserializer(
+        type,
+        new StdDeserializer<T>(type) {
+          @Override
+          public T deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            String text = p.getValueAsString();
+            try {
+              return parser.apply(text);
+            } catch (DateTimeException e) {
+              throw InvalidFormatException.from(p, e.getMessage(), text, type);
+            }
+          }
+        });
+  }
+
+  /**
+   * same flattening as the map deserializer of {@link GsonUtil} for a bean tree, whose numbers
+   * print like the gson ones
+   *
+   * @param node json object
+   * @return map, null for a null or missing node
+   */
+  @SuppressWarnings("unchecked")
+  private static <T> Map<String, T> flatten(JsonNode node) {
+    if (node == null || node.isNull() || node.isMissingNode()) {
+      return null;
+    }
+    if (!node.isObject()) {
+      throw new IllegalStateException("Not a JSON Object: " + node);
+    }
+    HashMap<String, Object> hashMap = new HashMap<>();
+    Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+    while (fields.hasNext()) {
+      Map.Entry<String, JsonNode> entry = fields.next();
+      JsonNode value = entry.getValue();
+      if (value.isValueNode() && !value.isNull()) {
+        hashMap.put(entry.getKey(), value.asText());
+      } else {
+        hashMap.put(entry.getKey(), value);
+      }
+    }
+    return (Map<String, T>) hashMap;
+  }
+
+  /** untyped values like gson: every number is a double */
+  private static final class DoubleUntypedDeserializer extends UntypedObjectDeserializer {
+
+    private static final long serialVersionUID = 1L;
+
+    private DoubleUntypedDeserializer() {
+      super(null, null);
+    }
+
+    @Override
+    public Object deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+      if (p.hasToken(JsonToken.VALUE_NUMBER_INT) || p.hasToken(JsonToken.VALUE_NUMBER_FLOAT)) {
+        return p.getDoubleValue();
+      }
+      // nested arrays and objects call back into this method for their values
+      return super.deserialize(p, ctxt);
+    }
+  }
+}
@@ -0,0 +1,93 @@
+package com.tangtongda.open.commons.utils;
+
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * {@link JsonArrayIterator} reads the elements of a json array one by one with a {@link
+ * JsonReader}, no tree of the whole array is built and only the current element is held
+ *
+ * @author <a href="mailto:tangtongda@gmail.com">Tino.Tang</a>
+ * @version ${project.version} - 2026/10/17
+ */
+final class JsonArrayIterator<T> implements Iterator<T>, Closeable {
+
+  private final JsonReader reader;
+  private final TypeAdapter<T> adapter;
+  private boolean started;
+  private boolean finished;
+
+  /**
+   * iterate a json array
+   *
+   * @param reader json source positioned before the array, closed with this iterator
+   * @param adapter element adapter
+   */
+  JsonArrayIterator(JsonReader reader, TypeAdapter<T> adapter) {
+    this.reader = reader;
+    this.adapter = adapter;
+    // same leniency as JsonParser and Gson#fromJson
+    reader.setLenient(true);
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (finished) {
+      return false;
+    }
+    try {
+      if (!started) {
+        started = true;
+        reader.beginArray();
+      }
+      if (reader.hasNext()) {
+        return true;
+      }
+      reader.endArray();
+      finished = true;
+      return false;
+    } catch (IOException | IllegalStateException e) {
+      throw GsonUtil.toJsonException(e);
+    }
+  }
+
+  @Override
+  public T next() {
+    if (!hasNext()) {
+      throw new NoSuchElementException();
+    }
+    try {
+      return adapter.read(reader);
+    } catch (IOException | IllegalStateException e) {
+      throw GsonUtil.toJsonException(e);
+    }
+  }
+
+  /**
+   * check that nothing but whitespace follows the array, like {@link
+   * com.google.gson.JsonParser#parse(String)}
+   *
+   * @throws JsonSyntaxException trailing content
+   */
+  void requireEnd() {
+    try {
+      if (reader.peek() != JsonToken.END_DOCUMENT) {
+        throw new JsonSyntaxException("Did not consume the entire document.");
+      }
+    } catch (IOException e) {
+      throw GsonUtil.toJsonException(e);
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+}
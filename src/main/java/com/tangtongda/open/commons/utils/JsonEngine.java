@@ -0,0 +1,144 @@
+package com.tangtongda.open.commons.utils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link JsonEngine} json operations of {@link JsonUtil}. Every engine formats dates, java.sql
+ * dates included, as "yyyy-MM-dd HH:mm:ss" in the current default zone, maps beans through their
+ * fields, leaves null fields out, writes byte arrays as number arrays, reads untyped numbers as
+ * doubles and flattens {@link #stringToMap}/{@link #beanToMap} like {@link GsonUtil}: primitive
+ * values become their json text, nested objects and arrays stay json trees of the engine. A null
+ * or blank document reads as null, except for the bean collections which require an array.
+ * Content after the document and a fraction or an out of range value for an integral field are
+ * errors.
+ *
+ * <p>The engines still differ in:
+ *
+ * <ul>
+ *   <li>exceptions: malformed or mismatched json raises an unchecked exception of the engine, a
+ *       {@link com.google.gson.JsonParseException} for gson, an {@link
+ *       java.io.UncheckedIOException} or {@link IllegalStateException} for jackson
+ *   <li>json trees: nested values of the flattened maps are {@link com.google.gson.JsonElement}s
+ *       or jackson {@code JsonNode}s, untyped nested objects are a {@code LinkedTreeMap} or a
+ *       {@link java.util.LinkedHashMap}
+ *   <li>NaN and infinite doubles: gson rejects them, jackson writes them as strings
+ *   <li>{@link java.util.Calendar}: gson writes its fields as an object, jackson the formatted
+ *       date
+ *   <li>classes without a no-arg constructor: gson creates them without calling a constructor,
+ *       jackson fails unless the class has a {@code @JsonCreator}
+ *   <li>integral fields: gson accepts a number with a zero fraction like 7.0, jackson rejects
+ *       every floating point number
+ * </ul>
+ *
+ * @author <a href="mailto:tangtongda@gmail.com">Tino.Tang</a>
+ * @version ${project.version} - 2026/10/17
+ */
+public interface JsonEngine {
+
+  /**
+   * object to json string
+   *
+   * @param object object data
+   * @return json string
+   */
+  String beanToString(Object object);
+
+  /**
+   * json string to object
+   *
+   * @param json json string
+   * @param cls object class
+   * @param <T> class type
+   * @return object
+   */
+  <T> T stringToBean(String json, Class<T> cls);
+
+  /**
+   * json string to list of the engine's natural values
+   *
+   * @param json json string
+   * @param <T> element type
+   * @return list
+   */
+  <T> List<T> stringToList(String json);
+
+  /**
+   * json string to set of the engine's natural values
+   *
+   * @param json json string
+   * @param <T> element type
+   * @return set
+   */
+  <T> Set<T> stringToSet(String json);
+
+  /**
+   * json string to class list
+   *
+   * @param json json string
+   * @param cls object class
+   * @param <T> class type
+   * @return object list
+   */
+  <T> List<T> stringToBeanList(String json, Class<T> cls);
+
+  /**
+   * json string to class set
+   *
+   * @param json json string
+   * @param cls object class
+   * @param <T> class type
+   * @return object set
+   */
+  <T> Set<T> stringToBeanSet(String json, Class<T> cls);
+
+  /**
+   * json string to map list
+   *
+   * @param json json string
+   * @param <T> value type
+   * @return map list
+   */
+  <T> List<Map<String, T>> stringToListMaps(String json);
+
+  /**
+   * json object string to flattened map
+   *
+   * @param json json string
+   * @param <T> value type
+   * @return map, null for a null document
+   */
+  <T> Map<String, T> stringToMap(String json);
+
+  /**
+   * map to object
+   *
+   * @param map map
+   * @param cls object class
+   * @param <E> map value type
+   * @param <T> class type
+   * @return object
+   */
+  <E, T> T mapToBean(Map<String, E> map, Class<T> cls);
+
+  /**
+   * object to flattened map
+   *
+   * @param object object
+   * @param <T> value type
+   * @return map
+   */
+  <T> Map<String, T> beanToMap(Object object);
+
+  /**
+   * deep copy bean to another bean
+   *
+   * @param e param object
+   * @param cls result type
+   * @param <E> param type
+   * @param <T> result type
+   * @return target bean
+   */
+  <E, T> T deepCopyBean(E e, Class<T> cls);
+}
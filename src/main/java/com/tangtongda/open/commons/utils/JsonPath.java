@@ -0,0 +1,176 @@
+package com.tangtongda.open.commons.utils;
+
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonSyntaxException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * {@link JsonPath} compiled subset of json path: {@code $}, {@code .name}, {@code ['name']},
+ * {@code [0]}, {@code [*]} and {@code .*}. Matching walks a {@link JsonReader} once, subtrees off
+ * the path are skipped without being built and only matched values are read
+ *
+ * @author <a href="mailto:tangtongda@gmail.com">Tino.Tang</a>
+ * @version ${project.version} - 2026/10/17
+ */
+final class JsonPath {
+
+  private static final int ANY_INDEX = -1;
+
+  /** field names, null for an index or a wildcard step */
+  private final String[] names;
+
+  /** array indexes, {@link #ANY_INDEX} for a wildcard, unused for a name step */
+  private final int[] indexes;
+
+  private JsonPath(String[] names, int[] indexes) {
+    this.names = names;
+    this.indexes = indexes;
+  }
+
+  /**
+   * compile a path like "$.data.items[*].id"
+   *
+   * @param path json path
+   * @return compiled path
+   * @throws IllegalArgumentException invalid path
+   */
+  static JsonPath compile(String path) {
+    if (path == null || !path.startsWith("$")) {
+      throw new IllegalArgumentException("json path must start with $: " + path);
+    }
+    List<String> names = new ArrayList<>();
+    List<Integer> indexes = new ArrayList<>();
+    int i = 1;
+    while (i < path.length()) {
+      char c = path.charAt(i);
+      if (c == '.') {
+        int end = i + 1;
+        while (end < path.length() && path.charAt(end) != '.' && path.charAt(end) != '[') {
+          end++;
+        }
+        String name = path.substring(i + 1, end);
+        if (name.isEmpty()) {
+          throw new IllegalArgumentException("empty field name in json path: " + path);
+        }
+        names.add("*".equals(name) ? null : name);
+        indexes.add(ANY_INDEX);
+        i = end;
+      } else if (c == '[') {
+        int end = path.indexOf(']', i);
+        if (end < 0) {
+          throw new IllegalArgumentException("unclosed [ in json path: " + path);
+        }
+        String step = path.substring(i + 1, end).trim();
+        if ("*".equals(step)) {
+          names.add(null);
+          indexes.add(ANY_INDEX);
+        } else if (step.length() >= 2
+            && (step.charAt(0) == '\'' || step.charAt(0) == '"')
+            && step.charAt(step.length() - 1) == step.charAt(0)) {
+          names.add(step.substring(1, step.length() - 1));
+          indexes.add(ANY_INDEX);
+        } else {
+          try {
+            int index = Integer.parseInt(step);
+            if (index < 0) {
+              throw new IllegalArgumentException("negative index in json path: " + path);
+            }
+            names.add(null);
+            indexes.add(index);
+          } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("invalid step [" + step + "] in json path: " + path);
+          }
+        }
+        i = end + 1;
+      } else {
+        throw new IllegalArgumentException("unexpected '" + c + "' in json path: " + path);
+      }
+    }
+    int[] steps = new int[indexes.size()];
+    for (int j = 0; j < steps.length; j++) {
+      steps[j] = indexes.get(j);
+    }
+    return new JsonPath(names.toArray(new String[0]), steps);
+  }
+
+  /**
+   * read the values at this path
+   *
+   * @param in json source
+   * @param adapter value adapter
+   * @param limit max values to read, the rest of the document is not read once it is reached
+   * @param <T> value type
+   * @return matched values in document order
+   * @throws JsonSyntaxException malformed json
+   * @throws JsonIOException read exception
+   */
+  <T> List<T> read(JsonReader in, TypeAdapter<T> adapter, int limit) {
+    List<T> values = new ArrayList<>();
+    in.setLenient(true);
+    try {
+      walk(in, 0, adapter, values, limit);
+    } catch (IOException | IllegalStateException e) {
+      throw GsonUtil.toJsonException(e);
+    }
+    return values;
+  }
+
+  /**
+   * follow the path from the given step
+   *
+   * @param in reader positioned before the value of the previous step
+   * @param step path step index
+   * @param adapter value adapter
+   * @param values matched values
+   * @param limit max values
+   * @param <T> value type
+   * @return false once the limit is reached
+   * @throws IOException read exception
+   */
+  private <T> boolean walk(
+      JsonReader in, int step, TypeAdapter<T> adapter, List<T> values, int limit)
+      throws IOException {
+    if (step == names.length) {
+      values.add(adapter.read(in));
+      return values.size() < limit;
+    }
+    JsonToken token = in.peek();
+    String name = names[step];
+    if (token == JsonToken.BEGIN_OBJECT && (name != null || indexes[step] == ANY_INDEX)) {
+      in.beginObject();
+      while (in.hasNext()) {
+        String field = in.nextName();
+        // null name is the .* wildcard
+        if (name == null || name.equals(field)) {
+          if (!walk(in, step + 1, adapter, values, limit)) {
+            return false;
+          }
+        } else {
+          in.skipValue();
+        }
+      }
+      in.endObject();
+    } else if (token == JsonToken.BEGIN_ARRAY && name == null) {
+      in.beginArray();
+      for (int i = 0; in.hasNext(); i++) {
+        if (indexes[step] == ANY_INDEX || indexes[step] == i) {
+          if (!walk(in, step + 1, adapter, values, limit)) {
+            return false;
+          }
+        } else {
+          in.skipValue();
+        }
+      }
+      in.endArray();
+    } else {
+      in.skipValue();
+    }
+    return true;
+  }
+}
@@ -0,0 +1,175 @@
+package com.tangtongda.open.commons.utils;
+
+import javax.validation.constraints.NotNull;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * {@link JsonUtil} json tools with a selectable {@link JsonEngine}, the operations match {@link
+ * GsonUtil}. Gson is the default, switch to jackson for large payloads:
+ *
+ * <pre>
+ *   JsonUtil.setEngine(JsonUtil.JACKSON);
+ * </pre>
+ *
+ * @author <a href="mailto:tangtongda@gmail.com">Tino.Tang</a>
+ * @version ${project.version} - 2026/10/17
+ */
+public final class JsonUtil {
+
+  /** engine backed by the shared gson of {@link GsonUtil} */
+  public static final JsonEngine GSON = GsonJsonEngine.INSTANCE;
+
+  /** engine backed by jackson databind */
+  public static final JsonEngine JACKSON = JacksonJsonEngine.INSTANCE;
+
+  private static volatile JsonEngine engine = GSON;
+
+  private JsonUtil() {}
+
+  /**
+   * switch the engine of all following calls
+   *
+   * @param jsonEngine {@link #GSON}, {@link #JACKSON} or a custom engine
+   */
+  public static void setEngine(@NotNull JsonEngine jsonEngine) {
+    engine = jsonEngine;
+  }
+
+  /**
+   * current engine
+   *
+   * @return json engine
+   */
+  public static JsonEngine getEngine() {
+    return engine;
+  }
+
+  /**
+   * object to json string
+   *
+   * @param object object data
+   * @return json string
+   */
+  public static String beanToString(Object object) {
+    return engine.beanToString(object);
+  }
+
+  /**
+   * json string to object
+   *
+   * @param json json string
+   * @param cls object class
+   * @param <T> class type
+   * @return object
+   */
+  public static <T> T stringToBean(String json, Class<T> cls) {
+    return engine.stringToBean(json, cls);
+  }
+
+  /**
+   * json string to list
+   *
+   * @param json json string
+   * @param <T> element type
+   * @return list
+   */
+  public static <T> List<T> stringToList(String json) {
+    return engine.stringToList(json);
+  }
+
+  /**
+   * json string to set
+   *
+   * @param json json string
+   * @param <T> element type
+   * @return set
+   */
+  public static <T> Set<T> stringToSet(String json) {
+    return engine.stringToSet(json);
+  }
+
+  /**
+   * json string to class list
+   *
+   * @param json json string
+   * @param cls object class
+   * @param <T> class type
+   * @return object list
+   */
+  public static <T> List<T> stringToBeanList(String json, Class<T> cls) {
+    return engine.stringToBeanList(json, cls);
+  }
+
+  /**
+   * json string to class set
+   *
+   * @param json json string
+   * @param cls object class
+   * @param <T> class type
+   * @return object set
+   */
+  public static <T> Set<T> stringToBeanSet(String json, Class<T> cls) {
+    return engine.stringToBeanSet(json, cls);
+  }
+
+  /**
+   * json string to map list
+   *
+   * @param json json string
+   * @param <T> value type
+   * @return map list
+   */
+  public static <T> List<Map<String, T>> stringToListMaps(String json) {
+    return engine.stringToListMaps(json);
+  }
+
+  /**
+   * json string to map, primitive values become strings
+   *
+   * @param json json string
+   * @param <T> value type
+   * @return map
+   */
+  public static <T> Map<String, T> stringToMap(String json) {
+    return engine.stringToMap(json);
+  }
+
+  /**
+   * map to object
+   *
+   * @param map map
+   * @param cls object class
+   * @param <E> map value type
+   * @param <T> class type
+   * @return object
+   */
+  public static <E, T> T mapToBean(Map<String, E> map, Class<T> cls) {
+    return engine.mapToBean(map, cls);
+  }
+
+  /**
+   * object to map, primitive values become strings
+   *
+   * @param object object
+   * @param <T> value type
+   * @return map
+   */
+  public static <T> Map<String, T> beanToMap(Object object) {
+    return engine.beanToMap(object);
+  }
+
+  /**
+   * deep copy bean to another bean
+   *
+   * @param e param object
+   * @param cls result type
+   * @param <E> param type
+   * @param <T> result type
+   * @return target bean
+   */
+  public static <E, T> T deepCopyBean(E e, Class<T> cls) {
+    return engine.deepCopyBean(e, cls);
+  }
+}
@@ -0,0 +1,168 @@
+package com.tangtongda.open.commons.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@link MappedFileReader} decodes a local file through memory mapped segments, so big files are
+ * read without copying the bytes into the java heap first. Malformed input is replaced. A segment
+ * is unmapped as soon as the reader moves past it or is closed, instead of when the gc collects
+ * the buffer
+ *
+ * @author <a href="mailto:tangtongda@gmail.com">Tino.Tang</a>
+ * @version ${project.version} - 2026/10/17
+ */
+final class MappedFileReader extends Reader {
+
+  private static final Logger LOGGER = LoggerFactory.getLogger(MappedFileReader.class);
+
+  /** bytes mapped at a time */
+  private static final long SEGMENT_SIZE = 256L << 20;
+
+  /** releases a mapping, null when the jdk offers no way and the gc has to */
+  private static final Unmapper UNMAPPER = unmapper();
+
+  private final FileChannel channel;
+  private final long size;
+  private final CharsetDecoder decoder;
+  private MappedByteBuffer segment;
+  private long segmentStart;
+  private boolean eof;
+
+  /**
+   * open a local file
+   *
+   * @param path file path
+   * @param charset file charset
+   * @throws IOException open exception
+   */
+  MappedFileReader(Path path, Charset charset) throws IOException {
+    this.channel = FileChannel.open(path, StandardOpenOption.READ);
+    try {
+      this.size = channel.size();
+      this.decoder =
+          charset
+              .newDecoder()
+              .onMalformedInput(CodingErrorAction.REPLACE)
+              .onUnmappableCharacter(CodingErrorAction.REPLACE);
+      map(0);
+    } catch (IOException | RuntimeException e) {
+      channel.close();
+      throw e;
+    }
+  }
+
+  @Override
+  public int read(char[] cbuf, int off, int len) throws IOException {
+    if (segment == null) {
+      throw new IOException("Stream closed");
+    }
+    if (eof) {
+      return -1;
+    }
+    if (len == 0) {
+      return 0;
+    }
+    CharBuffer out = CharBuffer.wrap(cbuf, off, len);
+    while (out.position() == off) {
+      boolean last = segmentStart + segment.limit() == size;
+      CoderResult result = decoder.decode(segment, out, last);
+      if (result.isOverflow()) {
+        break;
+      }
+      if (last) {
+        decoder.flush(out);
+        eof = true;
+        break;
+      }
+      // a char split over two segments stays in the buffer and is mapped again
+      map(segmentStart + segment.position());
+    }
+    int read = out.position() - off;
+    return read == 0 && eof ? -1 : read;
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      unmap();
+    } finally {
+      channel.close();
+    }
+  }
+
+  private void map(long start) throws IOException {
+    unmap();
+    segmentStart = start;
+    segment = channel.map(FileChannel.MapMode.READ_ONLY, start, Math.min(SEGMENT_SIZE, size - start));
+  }
+
+  /** release the current segment, it must not be read afterwards */
+  private void unmap() {
+    MappedByteBuffer buffer = segment;
+    segment = null;
+    if (buffer == null || UNMAPPER == null) {
+      return;
+    }
+    try {
+      UNMAPPER.unmap(buffer);
+    } catch (ReflectiveOperationException e) {
+      LOGGER.warn("unmap file segment failed, it is released by the gc", e);
+    }
+  }
+
+  /** jdk internal unmap call */
+  @FunctionalInterface
+  private interface Unmapper {
+
+    void unmap(ByteBuffer buffer) throws ReflectiveOperationException;
+  }
+
+  /**
+   * look up the unmap call of the running jdk: Unsafe.invokeCleaner since java 9, the cleaner of
+   * the DirectBuffer on java 8
+   *
+   * @return unmapper, null if neither is accessible
+   */
+  private static Unmapper unmapper() {
+    try {
+      Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+      try {
+        Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+        Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+        theUnsafe.setAccessible(true);
+        Object unsafe = theUnsafe.get(null);
+        return buffer -> invokeCleaner.invoke(unsafe, buffer);
+      } catch (NoSuchMethodException e) {
+        // java 8
+        Method cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+        Method clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+        return buffer -> {
+          // an empty mapping has no cleaner
+          Object c = cleaner.invoke(buffer);
+          if (c != null) {
+            clean.invoke(c);
+          }
+        };
+      }
+    } catch (ReflectiveOperationException | RuntimeException e) {
+      LOGGER.warn("unmapping file segments is not supported, they are released by the gc", e);
+      return null;
+    }
+  }
+}
@@ -1,7 +1,10 @@
 package com.tangtongda.open.commons.utils;
 
 import ch.qos.logback.core.util.CloseUtil;
+import com.google.gson.JsonIOException;
+import com.google.gson.JsonParseException;
 import okhttp3.*;
+import okio.BufferedSink;
 import org.apache.commons.lang3.StringUtils;
 import org.apache.commons.text.StringSubstitutor;
 import org.slf4j.Logger;
@@ -101,6 +104,80 @@ public class OkHttpClientUtil {
     return null;
   }
 
+  /**
+   * get a url and read the json response into a bean, the UTF-8 body is parsed as it streams in
+   *
+   * @param url request url
+   * @param cls response class
+   * @param <T> response type
+   * @return response bean
+   */
+  public static <T> T getBean(@NotEmpty String url, @NotNull Class<T> cls) {
+    OkHttpClient client = new OkHttpClient();
+    Request request = new Request.Builder().url(url).build();
+    try (Response response = client.newCall(request).execute()) {
+      if (null == response.body()) {
+        return null;
+      }
+      return GsonUtil.stringToBean(response.body().byteStream(), cls);
+    } catch (IOException | JsonParseException e) {
+      LOGGER.error("get request error,url:{}", url, e);
+    }
+    return null;
+  }
+
+  /**
+   * post a bean as json and read the json response into a bean, neither body is built as a string
+   *
+   * @param url request url
+   * @param param request bean
+   * @param cls response class
+   * @param <T> response type
+   * @return response bean
+   */
+  public static <T> T postBean(@NotEmpty String url, Object param, @NotNull Class<T> cls) {
+    OkHttpClient client = new OkHttpClient();
+    Request request = new Request.Builder().url(url).post(jsonBody(param)).build();
+    try (Response response = client.newCall(request).execute()) {
+      if (null == response.body()) {
+        return null;
+      }
+      return GsonUtil.stringToBean(response.body().byteStream(), cls);
+    } catch (IOException | JsonParseException e) {
+      LOGGER.error("post request error,url:{}", url, e);
+    }
+    return null;
+  }
+
+  /**
+   * json request body that serializes the bean straight into the request sink. The length is
+   * unknown, so the body is sent chunked
+   *
+   * @param param request bean
+   * @return request body
+   */
+  public static RequestBody jsonBody(Object param) {
+    return new RequestBody() {
+      @Override
+      public MediaType contentType() {
+        return MEDIA_TYPE;
+      }
+
+      @Override
+      public void writeTo(BufferedSink sink) throws IOException {
+        try {
+          GsonUtil.beanToStream(param, sink.outputStream());
+        } catch (JsonIOException e) {
+          // okhttp retries a stale pooled connection only on an IOException
+          if (e.getCause() instanceof IOException) {
+            throw (IOException) e.getCause();
+          }
+          throw e;
+        }
+      }
+    };
+  }
+
   /**
    * post form data
    *
@@ -45,6 +45,16 @@ public class ReflectionUtil {
     return cache.computeIfAbsent(function, ReflectionUtil::findField);
   }
 
+  /**
+   * Find field accessor, a {@link java.lang.invoke.MethodHandle} based getter and setter
+   *
+   * @param function lambda function
+   * @return FieldAccessor
+   */
+  public static FieldAccessor getAccessor(SerializableFunction<?, ?> function) {
+    return FieldAccessor.of(getField(function));
+  }
+
   /**
    * Find filed by entity:property lambda
    *
@@ -0,0 +1,127 @@
+package com.tangtongda.open.commons.utils;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * {@link SheetRowReader} row reader over a loaded workbook sheet, used for .xls files
+ *
+ * @author <a href="mailto:tangtongda@gmail.com">Tino.Tang</a>
+ * @version ${project.version} - 2026/10/17
+ */
+final class SheetRowReader implements ExcelRowReader {
+
+  private final Workbook workbook;
+  private final Sheet sheet;
+  private final boolean closeWorkbook;
+  private int rowNum;
+  private Row row;
+
+  /**
+   * read one sheet of a loaded workbook
+   *
+   * @param workbook workbook
+   * @param sheetIndex zero based sheet index
+   * @param closeWorkbook close the workbook together with this reader
+   */
+  SheetRowReader(Workbook workbook, int sheetIndex, boolean closeWorkbook) {
+    this.workbook = workbook;
+    this.sheet = workbook.getSheetAt(sheetIndex);
+    this.closeWorkbook = closeWorkbook;
+    this.rowNum = sheet.getFirstRowNum() - 1;
+  }
+
+  @Override
+  public boolean nextRow() {
+    while (rowNum < sheet.getLastRowNum()) {
+      row = sheet.getRow(++rowNum);
+      if (row != null) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  @Override
+  public int getRowNum() {
+    return rowNum;
+  }
+
+  @Override
+  public int getLastCellNum() {
+    return Math.max(row.getLastCellNum(), 0);
+  }
+
+  @Override
+  public String getCellValue(int col) {
+    return getCellValue(row.getCell(col));
+  }
+
+  @Override
+  public CellKind getCellKind(int col) {
+    Cell cell = row.getCell(col);
+    if (cell == null) {
+      return CellKind.BLANK;
+    }
+    switch (cell.getCellType()) {
+      case Cell.CELL_TYPE_NUMERIC:
+        return DateUtil.isCellDateFormatted(cell) ? CellKind.DATE : CellKind.NUMERIC;
+      case Cell.CELL_TYPE_BOOLEAN:
+        return CellKind.BOOLEAN;
+      case Cell.CELL_TYPE_BLANK:
+        return CellKind.BLANK;
+      default:
+        return CellKind.STRING;
+    }
+  }
+
+  @Override
+  public double getNumericCellValue(int col) {
+    return row.getCell(col).getNumericCellValue();
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (closeWorkbook) {
+      workbook.close();
+    }
+  }
+
+  /**
+   * get cell value
+   *
+   * @param cell excel cell
+   * @return value
+   */
+  static String getCellValue(Cell cell) {
+    if (cell == null) {
+      return StringUtils.EMPTY;
+    }
+    if (cell.getCellType() == Cell.CELL_TYPE_NUMERIC) {
+      if (DateUtil.isCellDateFormatted(cell)) {
+        return DateUtil.getJavaDate(cell.getNumericCellValue()).toString();
+      } else {
+        return BigDecimal.valueOf(cell.getNumericCellValue()).toString();
+      }
+    } else if (cell.getCellType() == Cell.CELL_TYPE_STRING) {
+      return StringUtils.trimToEmpty(cell.getStringCellValue());
+    } else if (cell.getCellType() == Cell.CELL_TYPE_FORMULA) {
+      return StringUtils.trimToEmpty(cell.getCellFormula());
+    } else if (cell.getCellType() == Cell.CELL_TYPE_BLANK) {
+      return StringUtils.EMPTY;
+    } else if (cell.getCellType() == Cell.CELL_TYPE_BOOLEAN) {
+      return String.valueOf(cell.getBooleanCellValue());
+    } else if (cell.getCellType() == Cell.CELL_TYPE_ERROR) {
+      return ERROR_RESULT;
+    } else {
+      return cell.toString().trim();
+    }
+  }
+}
@@ -0,0 +1,170 @@
+package com.tangtongda.open.commons.utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * {@link SnowflakeIdGenerator} lock free id generator: 41 bits of milliseconds since 2020-01-01,
+ * then worker id bits and sequence bits sharing the last 18 bits, plus {@link #ID_OFFSET}. The 59
+ * bits stay below 10^18 - {@link #ID_OFFSET}, so every id has 18 decimal digits until the timestamp
+ * bits run out in 2089 and sorts after the older "currentTimeMillis + 5 random digits" ids of {@link
+ * IDUtil#longId()}. Ids of one generator are strictly increasing, ids of generators with different
+ * worker ids never collide.
+ *
+ * <p>A millisecond whose sequence is used up borrows the next millisecond instead of waiting, at
+ * most {@link #MAX_BORROW_MILLIS} ahead of the clock. The same borrowing absorbs a clock that moves
+ * back a little, a clock that moves back more than {@link #MAX_BACKWARD_MILLIS} fails the call
+ *
+ * @author <a href="mailto:tangtongda@gmail.com">Tino.Tang</a>
+ * @version ${project.version} - 2026/10/17
+ */
+public final class SnowflakeIdGenerator {
+
+  /** 2020-01-01T00:00:00Z, 41 bits of milliseconds last until 2089 */
+  public static final long EPOCH = 1577836800000L;
+
+  /** added to every id, keeps the ids at 18 digits */
+  public static final long ID_OFFSET = 200_000_000_000_000_000L;
+
+  public static final int DEFAULT_WORKER_BITS = 8;
+
+  /** milliseconds the ids may run ahead of the clock when a sequence is used up */
+  public static final long MAX_BORROW_MILLIS = 1000L;
+
+  /** clock rollback tolerated on top of the borrowed milliseconds */
+  public static final long MAX_BACKWARD_MILLIS = 5000L;
+
+  private static final int TIMESTAMP_BITS = 41;
+  private static final int WORKER_SEQUENCE_BITS = 18;
+
+  private final long workerId;
+  private final int sequenceBits;
+  private final long sequenceMask;
+
+  /** last issued timestamp and sequence, {@code timestamp << sequenceBits | sequence} */
+  private final AtomicLong state = new AtomicLong();
+
+  /**
+   * generator with {@link #DEFAULT_WORKER_BITS} worker bits, 256 workers and 1024 ids per
+   * millisecond
+   *
+   * @param workerId worker id unique in the cluster, 0 to 255
+   */
+  public SnowflakeIdGenerator(long workerId) {
+    this(workerId, DEFAULT_WORKER_BITS);
+  }
+
+  /**
+   * generator with custom worker bits, fewer worker bits leave more sequence bits per millisecond
+   *
+   * @param workerId worker id unique in the cluster, 0 to 2^workerBits - 1
+   * @param workerBits worker id bits, 0 to 17
+   */
+  public SnowflakeIdGenerator(long workerId, int workerBits) {
+    if (workerBits < 0 || workerBits >= WORKER_SEQUENCE_BITS) {
+      throw new IllegalArgumentException("worker bits must be between 0 and 17: " + workerBits);
+    }
+    if (workerId < 0 || workerId >= 1L << workerBits) {
+      throw new IllegalArgumentException(
+          "worker id must be between 0 and " + ((1L << workerBits) - 1) + ": " + workerId);
+    }
+    this.workerId = workerId;
+    this.sequenceBits = WORKER_SEQUENCE_BITS - workerBits;
+    this.sequenceMask = (1L << sequenceBits) - 1;
+  }
+
+  /**
+   * next id
+   *
+   * @return 18 digit id, greater than all ids issued before by this generator
+   * @throws IllegalStateException the clock moved back more than {@link #MAX_BACKWARD_MILLIS}
+   */
+  public long nextId() {
+    return toId(reserve(1));
+  }
+
+  /**
+   * reserve n ids with one atomic update
+   *
+   * @param n id count
+   * @return increasing ids
+   * @throws IllegalArgumentException n is negative or more than a second of sequences
+   * @throws IllegalStateException the clock moved back more than {@link #MAX_BACKWARD_MILLIS}
+   */
+  public long[] nextIds(int n) {
+    if (n < 0 || n > MAX_BORROW_MILLIS << sequenceBits) {
+      throw new IllegalArgumentException(
+          "id count must be between 0 and " + (MAX_BORROW_MILLIS << sequenceBits) + ": " + n);
+    }
+    long[] ids = new long[n];
+    if (n == 0) {
+      return ids;
+    }
+    long first = reserve(n);
+    for (int i = 0; i < n; i++) {
+      ids[i] = toId(first + i);
+    }
+    return ids;
+  }
+
+  /**
+   * worker id of this generator
+   *
+   * @return worker id
+   */
+  public long getWorkerId() {
+    return workerId;
+  }
+
+  /**
+   * epoch milliseconds an id was generated at
+   *
+   * @param id generated id
+   * @return epoch milliseconds
+   */
+  public long getTimestamp(long id) {
+    return (id - ID_OFFSET >>> WORKER_SEQUENCE_BITS) + EPOCH;
+  }
+
+  /**
+   * reserve a range of timestamp and sequence values
+   *
+   * @param n range size
+   * @return first state of the range
+   */
+  private long reserve(int n) {
+    while (true) {
+      long now = System.currentTimeMillis() - EPOCH;
+      long last = state.get();
+      long lastTimestamp = last >>> sequenceBits;
+      if (lastTimestamp - now > MAX_BORROW_MILLIS + MAX_BACKWARD_MILLIS) {
+        throw new IllegalStateException(
+            "clock moved backwards, refusing to generate ids for "
+                + (lastTimestamp - now)
+                + "ms");
+      }
+      // a new millisecond restarts the sequence, otherwise it carries into the next millisecond
+      long first = now > lastTimestamp ? now << sequenceBits : last + 1;
+      long end = first + n - 1;
+      if ((end >>> sequenceBits) - now > MAX_BORROW_MILLIS) {
+        // sequences used up too far ahead, wait for the clock
+        LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        continue;
+      }
+      if (end >>> sequenceBits >= 1L << TIMESTAMP_BITS) {
+        throw new IllegalStateException("timestamp bits exhausted");
+      }
+      if (state.compareAndSet(last, end)) {
+        return first;
+      }
+    }
+  }
+
+  private long toId(long value) {
+    return ID_OFFSET
+        + ((value >>> sequenceBits) << WORKER_SEQUENCE_BITS
+            | workerId << sequenceBits
+            | value & sequenceMask);
+  }
+}
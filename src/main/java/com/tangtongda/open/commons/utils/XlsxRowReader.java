@@ -0,0 +1,494 @@
+package com.tangtongda.open.commons.utils;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link XlsxRowReader} streaming .xlsx sheet reader based on {@link XSSFReader}, the sheet xml is
+ * walked row by row and only the current row is kept in memory
+ *
+ * @author <a href="mailto:tangtongda@gmail.com">Tino.Tang</a>
+ * @version ${project.version} - 2026/10/17
+ */
+final class XlsxRowReader implements ExcelRowReader {
+
+  private static final String ROW = "row";
+  private static final String CELL = "c";
+  private static final String VALUE = "v";
+  private static final String FORMULA = "f";
+  private static final String TEXT = "t";
+  private static final String PHONETIC_RUN = "rPh";
+
+  private static final String ATTR_REFERENCE = "r";
+  private static final String ATTR_TYPE = "t";
+  private static final String ATTR_STYLE = "s";
+  private static final String ATTR_SHARED_INDEX = "si";
+
+  private static final String FORMULA_SHARED = "shared";
+
+  /** formula text of a reference moved off the sheet */
+  private static final String ERROR_REFERENCE = "#REF!";
+
+  /** last column of a sheet, XFD */
+  private static final int MAX_COLUMN = 16383;
+
+  /** last row of a sheet, one based */
+  private static final int MAX_ROW = 1048576;
+
+  private static final String TYPE_SHARED_STRING = "s";
+  private static final String TYPE_INLINE_STRING = "inlineStr";
+  private static final String TYPE_FORMULA_STRING = "str";
+  private static final String TYPE_BOOLEAN = "b";
+  private static final String TYPE_ERROR = "e";
+
+  private final XlsxWorkbook workbook;
+  private final OPCPackage pkg;
+  private final InputStream sheetStream;
+  private final XMLStreamReader xml;
+  private final boolean closeWorkbook;
+
+  /** shared formula index --> master formula, children only carry the index */
+  private final Map<String, SharedFormula> sharedFormulas = new HashMap<>();
+
+  private String[] values = new String[16];
+  private CellKind[] kinds = new CellKind[16];
+  private double[] numbers = new double[16];
+  private int lastCellNum;
+  private int rowNum = -1;
+
+  /**
+   * read one sheet, opened by {@link XlsxWorkbook#openSheet}
+   *
+   * @param workbook shared parts of the file
+   * @param pkg package handle owned by this reader
+   * @param sheetStream sheet xml stream
+   * @param closeWorkbook close the workbook together with this reader
+   * @throws IOException open exception
+   */
+  XlsxRowReader(
+      XlsxWorkbook workbook, OPCPackage pkg, InputStream sheetStream, boolean closeWorkbook)
+      throws IOException {
+    this.workbook = workbook;
+    this.pkg = pkg;
+    this.sheetStream = sheetStream;
+    this.closeWorkbook = closeWorkbook;
+    try {
+      this.xml = newXmlInputFactory().createXMLStreamReader(sheetStream);
+    } catch (XMLStreamException e) {
+      throw new IOException("open xlsx sheet error", e);
+    }
+  }
+
+  @Override
+  public boolean nextRow() throws IOException {
+    try {
+      while (xml.hasNext()) {
+        if (xml.next() == XMLStreamConstants.START_ELEMENT && ROW.equals(xml.getLocalName())) {
+          readRow();
+          return true;
+        }
+      }
+      return false;
+    } catch (XMLStreamException e) {
+      throw new IOException("parse xlsx sheet error", e);
+    }
+  }
+
+  @Override
+  public int getRowNum() {
+    return rowNum;
+  }
+
+  @Override
+  public int getLastCellNum() {
+    return lastCellNum;
+  }
+
+  @Override
+  public String getCellValue(int col) {
+    CellKind kind = getCellKind(col);
+    if (kind == CellKind.BLANK) {
+      return StringUtils.EMPTY;
+    }
+    if (values[col] == null) {
+      // numbers are only formatted on demand, same conversion as SheetRowReader#getCellValue
+      values[col] =
+          kind == CellKind.DATE
+              ? DateUtil.getJavaDate(numbers[col]).toString()
+              : BigDecimal.valueOf(numbers[col]).toString();
+    }
+    return values[col];
+  }
+
+  @Override
+  public CellKind getCellKind(int col) {
+    if (col < 0 || col >= lastCellNum || kinds[col] == null) {
+      return CellKind.BLANK;
+    }
+    return kinds[col];
+  }
+
+  @Override
+  public double getNumericCellValue(int col) {
+    return numbers[col];
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      xml.close();
+    } catch (XMLStreamException e) {
+      throw new IOException("close xlsx sheet error", e);
+    } finally {
+      try {
+        sheetStream.close();
+      } finally {
+        pkg.revert();
+        if (closeWorkbook) {
+          workbook.close();
+        }
+      }
+    }
+  }
+
+  /**
+   * read the row element the cursor stands on
+   *
+   * @throws XMLStreamException parse exception
+   */
+  private void readRow() throws XMLStreamException {
+    String reference = xml.getAttributeValue(null, ATTR_REFERENCE);
+    rowNum = reference == null ? rowNum + 1 : Integer.parseInt(reference) - 1;
+    Arrays.fill(values, 0, lastCellNum, null);
+    Arrays.fill(kinds, 0, lastCellNum, null);
+    lastCellNum = 0;
+    int nextCol = 0;
+    while (xml.hasNext()) {
+      int event = xml.next();
+      if (event == XMLStreamConstants.START_ELEMENT && CELL.equals(xml.getLocalName())) {
+        nextCol = readCell(nextCol) + 1;
+      } else if (event == XMLStreamConstants.END_ELEMENT && ROW.equals(xml.getLocalName())) {
+        return;
+      }
+    }
+  }
+
+  /**
+   * read the cell element the cursor stands on
+   *
+   * @param defaultCol column index used when the cell has no reference
+   * @return cell column index
+   * @throws XMLStreamException parse exception
+   */
+  private int readCell(int defaultCol) throws XMLStreamException {
+    String reference = xml.getAttributeValue(null, ATTR_REFERENCE);
+    int col = reference == null ? defaultCol : columnIndex(reference);
+    String type = xml.getAttributeValue(null, ATTR_TYPE);
+    String style = xml.getAttributeValue(null, ATTR_STYLE);
+    String value = null;
+    String formula = null;
+    StringBuilder text = null;
+    while (xml.hasNext()) {
+      int event = xml.next();
+      if (event == XMLStreamConstants.START_ELEMENT) {
+        String name = xml.getLocalName();
+        if (VALUE.equals(name)) {
+          value = xml.getElementText();
+        } else if (FORMULA.equals(name)) {
+          String formulaType = xml.getAttributeValue(null, ATTR_TYPE);
+          String sharedIndex = xml.getAttributeValue(null, ATTR_SHARED_INDEX);
+          formula = xml.getElementText();
+          if (FORMULA_SHARED.equals(formulaType) && sharedIndex != null) {
+            formula = sharedFormula(sharedIndex, col, formula);
+          }
+        } else if (TEXT.equals(name)) {
+          if (text == null) {
+            text = new StringBuilder();
+          }
+          text.append(xml.getElementText());
+        } else if (PHONETIC_RUN.equals(name)) {
+          skipElement();
+        }
+      } else if (event == XMLStreamConstants.END_ELEMENT && CELL.equals(xml.getLocalName())) {
+        break;
+      }
+    }
+    setCell(col, type, style, value, formula, text);
+    return col;
+  }
+
+  /**
+   * store a cell, same conversion as {@link SheetRowReader#getCellValue} except that numbers are
+   * kept as doubles
+   */
+  private void setCell(
+      int col, String type, String style, String value, String formula, StringBuilder text) {
+    // a shared formula child without its master falls back to the cached value
+    if (StringUtils.isNotEmpty(formula)) {
+      setString(col, StringUtils.trimToEmpty(formula));
+    } else if (TYPE_INLINE_STRING.equals(type)) {
+      setString(
+          col, text == null ? StringUtils.EMPTY : StringUtils.trimToEmpty(text.toString()));
+    } else if (StringUtils.isEmpty(value)) {
+      // blank cell, still counts for the last cell num
+      ensureCapacity(col);
+    } else if (TYPE_SHARED_STRING.equals(type)) {
+      setString(col, StringUtils.trimToEmpty(workbook.getSharedString(Integer.parseInt(value))));
+    } else if (TYPE_FORMULA_STRING.equals(type)) {
+      setString(col, StringUtils.trimToEmpty(value));
+    } else if (TYPE_BOOLEAN.equals(type)) {
+      ensureCapacity(col);
+      kinds[col] = CellKind.BOOLEAN;
+      values[col] = String.valueOf("1".equals(value));
+    } else if (TYPE_ERROR.equals(type)) {
+      setString(col, ERROR_RESULT);
+    } else {
+      double number = Double.parseDouble(value);
+      ensureCapacity(col);
+      kinds[col] =
+          DateUtil.isValidExcelDate(number)
+                  && workbook.isDateStyle(style == null ? 0 : Integer.parseInt(style))
+              ? CellKind.DATE
+              : CellKind.NUMERIC;
+      numbers[col] = number;
+    }
+  }
+
+  /**
+   * formula of a shared formula cell, XSSFCell#getCellFormula returns the master formula moved to
+   * each child cell
+   *
+   * @param sharedIndex shared formula index
+   * @param col cell column index
+   * @param formula formula text, only the master cell has one
+   * @return formula of the cell, null if the master is unknown
+   */
+  private String sharedFormula(String sharedIndex, int col, String formula) {
+    if (StringUtils.isNotEmpty(formula)) {
+      sharedFormulas.put(sharedIndex, new SharedFormula(formula, rowNum, col));
+      return formula;
+    }
+    SharedFormula master = sharedFormulas.get(sharedIndex);
+    return master == null
+        ? null
+        : shiftFormula(master.formula, rowNum - master.rowNum, col - master.col);
+  }
+
+  private void setString(int col, String value) {
+    ensureCapacity(col);
+    kinds[col] = CellKind.STRING;
+    values[col] = value;
+  }
+
+  private void ensureCapacity(int col) {
+    if (col >= values.length) {
+      int length = Math.max(col + 1, values.length << 1);
+      values = Arrays.copyOf(values, length);
+      kinds = Arrays.copyOf(kinds, length);
+      numbers = Arrays.copyOf(numbers, length);
+    }
+    lastCellNum = Math.max(lastCellNum, col + 1);
+  }
+
+  private void skipElement() throws XMLStreamException {
+    int depth = 1;
+    while (depth > 0 && xml.hasNext()) {
+      int event = xml.next();
+      if (event == XMLStreamConstants.START_ELEMENT) {
+        depth++;
+      } else if (event == XMLStreamConstants.END_ELEMENT) {
+        depth--;
+      }
+    }
+  }
+
+  /**
+   * column index of a cell reference like "AB12"
+   *
+   * @param reference cell reference
+   * @return zero based column index
+   */
+  static int columnIndex(String reference) {
+    int col = 0;
+    for (int i = 0; i < reference.length(); i++) {
+      char ch = reference.charAt(i);
+      if (ch < 'A' || ch > 'Z') {
+        break;
+      }
+      col = col * 26 + (ch - 'A' + 1);
+    }
+    return col - 1;
+  }
+
+  /**
+   * move the relative references of a formula like excel fills it down or right, e.g. "B2*$C$1"
+   * moved by one row is "B3*$C$1". Strings, quoted sheet names and function names are kept, a
+   * reference moved off the sheet becomes #REF!
+   *
+   * @param formula formula text
+   * @param rows rows to move
+   * @param cols columns to move
+   * @return moved formula
+   */
+  static String shiftFormula(String formula, int rows, int cols) {
+    StringBuilder out = new StringBuilder(formula.length() + 8);
+    int n = formula.length();
+    int i = 0;
+    while (i < n) {
+      char c = formula.charAt(i);
+      if (c == '"' || c == '\'') {
+        // string literal or quoted sheet name, a doubled quote is an escaped quote
+        int end = i + 1;
+        while (end < n) {
+          if (formula.charAt(end) != c) {
+            end++;
+          } else if (end + 1 < n && formula.charAt(end + 1) == c) {
+            end += 2;
+          } else {
+            break;
+          }
+        }
+        end = Math.min(end + 1, n);
+        out.append(formula, i, end);
+        i = end;
+      } else if (isNameChar(c)) {
+        int end = i;
+        while (end < n && isNameChar(formula.charAt(end))) {
+          end++;
+        }
+        char next = end < n ? formula.charAt(end) : 0;
+        if (next == '(' || next == '!' || next == '[') {
+          // function, sheet or table name
+          out.append(formula, i, end);
+        } else {
+          boolean range = i > 0 && formula.charAt(i - 1) == ':' || next == ':';
+          out.append(shiftReference(formula.substring(i, end), rows, cols, range));
+        }
+        i = end;
+      } else {
+        out.append(c);
+        i++;
+      }
+    }
+    return out.toString();
+  }
+
+  private static boolean isNameChar(char c) {
+    return Character.isLetterOrDigit(c) || c == '$' || c == '_' || c == '.';
+  }
+
+  /**
+   * move a reference token: a cell "A1", or a column "A" or a row "1" of a range like "A:A"
+   *
+   * @param token name token
+   * @param rows rows to move
+   * @param cols columns to move
+   * @param range the token is an end of a range
+   * @return moved reference, the token itself if it is no reference
+   */
+  private static String shiftReference(String token, int rows, int cols, boolean range) {
+    int i = 0;
+    boolean absoluteCol = i < token.length() && token.charAt(i) == '$';
+    if (absoluteCol) {
+      i++;
+    }
+    int letters = i;
+    int col = 0;
+    while (i < token.length() && token.charAt(i) >= 'A' && token.charAt(i) <= 'Z') {
+      col = col * 26 + (token.charAt(i++) - 'A' + 1);
+    }
+    letters = i - letters;
+    boolean absoluteRow = i < token.length() && token.charAt(i) == '$';
+    if (absoluteRow) {
+      i++;
+    }
+    int digits = i;
+    long row = 0;
+    while (i < token.length() && token.charAt(i) >= '0' && token.charAt(i) <= '9') {
+      // more digits than a row number has leave the token as it is
+      row = Math.min(row * 10 + (token.charAt(i++) - '0'), MAX_ROW + 1L);
+    }
+    digits = i - digits;
+    boolean cell = letters > 0 && digits > 0;
+    if (i < token.length()
+        || letters > 3
+        || col - 1 > MAX_COLUMN
+        || row > MAX_ROW
+        || !cell && !(range && (letters > 0 ^ digits > 0))
+        || absoluteRow && digits == 0
+        || absoluteCol && letters == 0) {
+      return token;
+    }
+    StringBuilder out = new StringBuilder(token.length() + 2);
+    if (letters > 0) {
+      int shifted = absoluteCol ? col - 1 : col - 1 + cols;
+      if (shifted < 0 || shifted > MAX_COLUMN) {
+        return ERROR_REFERENCE;
+      }
+      if (absoluteCol) {
+        out.append('$');
+      }
+      out.append(columnName(shifted));
+    }
+    if (digits > 0) {
+      long shifted = absoluteRow ? row : row + rows;
+      if (shifted < 1 || shifted > MAX_ROW) {
+        return ERROR_REFERENCE;
+      }
+      if (absoluteRow) {
+        out.append('$');
+      }
+      out.append(shifted);
+    }
+    return out.toString();
+  }
+
+  /**
+   * column name of a column index, e.g. 27 is "AB"
+   *
+   * @param col zero based column index
+   * @return column name
+   */
+  private static String columnName(int col) {
+    StringBuilder name = new StringBuilder(3);
+    for (int c = col + 1; c > 0; c = (c - 1) / 26) {
+      name.insert(0, (char) ('A' + (c - 1) % 26));
+    }
+    return name.toString();
+  }
+
+  /** shared formula master cell */
+  private static final class SharedFormula {
+
+    private final String formula;
+    private final int rowNum;
+    private final int col;
+
+    private SharedFormula(String formula, int rowNum, int col) {
+      this.formula = formula;
+      this.rowNum = rowNum;
+      this.col = col;
+    }
+  }
+
+  private static XMLInputFactory newXmlInputFactory() {
+    XMLInputFactory factory = XMLInputFactory.newInstance();
+    factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+    factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+    factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+    return factory;
+  }
+}
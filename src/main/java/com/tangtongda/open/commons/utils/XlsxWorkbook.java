@@ -0,0 +1,159 @@
+package com.tangtongda.open.commons.utils;
+
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.xml.sax.SAXException;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * {@link XlsxWorkbook} the read-only shared parts of a local .xlsx file: shared strings, date
+ * styles and sheet names. Sheets are opened as {@link XlsxRowReader}s, each on its own package
+ * handle, so several sheets can be read by different threads at the same time
+ *
+ * @author <a href="mailto:tangtongda@gmail.com">Tino.Tang</a>
+ * @version ${project.version} - 2026/10/17
+ */
+final class XlsxWorkbook implements Closeable {
+
+  private final File file;
+  private final boolean temporary;
+  private final ReadOnlySharedStringsTable sharedStrings;
+
+  /** date format flag by cell style index */
+  private final boolean[] dateStyles;
+
+  private final List<String> sheetNames;
+
+  /**
+   * read the shared parts of a local .xlsx file
+   *
+   * @param file xlsx file
+   * @param temporary delete the file when the workbook is closed
+   * @throws IOException open exception
+   */
+  XlsxWorkbook(File file, boolean temporary) throws IOException {
+    this.file = file;
+    this.temporary = temporary;
+    OPCPackage pkg = null;
+    try {
+      pkg = open(file);
+      XSSFReader reader = new XSSFReader(pkg);
+      this.sharedStrings = new ReadOnlySharedStringsTable(pkg);
+      this.dateStyles = dateStyles(reader.getStylesTable());
+      List<String> names = new ArrayList<>();
+      XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+      while (sheets.hasNext()) {
+        sheets.next().close();
+        names.add(sheets.getSheetName());
+      }
+      this.sheetNames = Collections.unmodifiableList(names);
+    } catch (IOException | OpenXML4JException | SAXException | RuntimeException e) {
+      if (temporary) {
+        Files.deleteIfExists(file.toPath());
+      }
+      throw e instanceof IOException ? (IOException) e : new IOException("open xlsx error", e);
+    } finally {
+      if (pkg != null) {
+        pkg.revert();
+      }
+    }
+  }
+
+  /**
+   * sheet names in workbook order
+   *
+   * @return sheet names
+   */
+  List<String> getSheetNames() {
+    return sheetNames;
+  }
+
+  /**
+   * open a sheet as a row reader
+   *
+   * @param sheetIndex zero based sheet index
+   * @param closeWorkbook close this workbook together with the reader
+   * @return row reader
+   * @throws IOException open exception
+   */
+  XlsxRowReader openSheet(int sheetIndex, boolean closeWorkbook) throws IOException {
+    if (sheetIndex < 0 || sheetIndex >= sheetNames.size()) {
+      throw new IllegalArgumentException("sheet index " + sheetIndex + " out of range");
+    }
+    OPCPackage pkg = open(file);
+    try {
+      XSSFReader reader = new XSSFReader(pkg);
+      XSSFReader.SheetIterator sheets = (XSSFReader.SheetIterator) reader.getSheetsData();
+      for (int i = 0; i < sheetIndex; i++) {
+        sheets.next().close();
+      }
+      InputStream sheetStream = sheets.next();
+      return new XlsxRowReader(this, pkg, sheetStream, closeWorkbook);
+    } catch (IOException | OpenXML4JException | RuntimeException e) {
+      pkg.revert();
+      throw e instanceof IOException ? (IOException) e : new IOException("open xlsx sheet error", e);
+    }
+  }
+
+  /**
+   * shared string by index
+   *
+   * @param index shared string index
+   * @return string
+   */
+  String getSharedString(int index) {
+    return sharedStrings.getEntryAt(index);
+  }
+
+  /**
+   * whether the cell style has a date format
+   *
+   * @param styleIndex cell style index
+   * @return true if date formatted
+   */
+  boolean isDateStyle(int styleIndex) {
+    return styleIndex < dateStyles.length && dateStyles[styleIndex];
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (temporary) {
+      Files.deleteIfExists(file.toPath());
+    }
+  }
+
+  private static boolean[] dateStyles(StylesTable styles) {
+    if (styles == null) {
+      return new boolean[0];
+    }
+    boolean[] dates = new boolean[styles.getNumCellStyles()];
+    for (int i = 0; i < dates.length; i++) {
+      XSSFCellStyle style = styles.getStyleAt(i);
+      dates[i] =
+          style != null && DateUtil.isADateFormat(style.getDataFormat(), style.getDataFormatString());
+    }
+    return dates;
+  }
+
+  private static OPCPackage open(File file) throws IOException {
+    try {
+      return OPCPackage.open(file, PackageAccess.READ);
+    } catch (OpenXML4JException e) {
+      throw new IOException("open xlsx package error", e);
+    }
+  }
+}
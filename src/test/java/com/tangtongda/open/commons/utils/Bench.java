@@ -0,0 +1,133 @@
+package com.tangtongda.open.commons.utils;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * {@link Bench} small throughput harness of the benchmark mains in this package, the pom has no
+ * jmh. Each case runs a timed warmup and timed measurement iterations on fresh threads and prints
+ * the operations per second and the bytes allocated per operation where the jvm reports them.
+ * Results go to a volatile sink so the measured calls are not dropped.
+ * Iteration settings are the system properties bench.warmup, bench.iterations and bench.time, in
+ * milliseconds
+ *
+ * @author <a href="mailto:tangtongda@gmail.com">Tino.Tang</a>
+ * @version ${project.version} - 2026/10/17
+ */
+final class Bench {
+
+  private static final long WARMUP_MILLIS = Long.getLong("bench.warmup", 2000L);
+  private static final int ITERATIONS = Integer.getInteger("bench.iterations", 5);
+  private static final long ITERATION_MILLIS = Long.getLong("bench.time", 1000L);
+
+  /** operations between two clock reads */
+  private static final int CHECK_INTERVAL = 64;
+
+  static volatile Object sink;
+
+  /** hotspot thread allocation counter, null on other jvms */
+  private static final com.sun.management.ThreadMXBean THREADS = allocationCounter();
+
+  private Bench() {}
+
+  /**
+   * measure one case on a single thread
+   *
+   * @param name case name
+   * @param op measured operation
+   */
+  static void run(String name, Supplier<?> op) {
+    run(name, 1, op);
+  }
+
+  /**
+   * measure one case, all threads call the operation at the same time
+   *
+   * @param name case name
+   * @param threads thread count
+   * @param op measured operation, thread safe
+   */
+  static void run(String name, int threads, Supplier<?> op) {
+    loop(threads, WARMUP_MILLIS, op, null, null);
+    double[] scores = new double[ITERATIONS];
+    double sum = 0;
+    LongAdder bytes = new LongAdder();
+    LongAdder ops = new LongAdder();
+    for (int i = 0; i < ITERATIONS; i++) {
+      scores[i] = loop(threads, ITERATION_MILLIS, op, bytes, ops);
+      sum += scores[i];
+    }
+    double mean = sum / ITERATIONS;
+    double variance = 0;
+    for (double score : scores) {
+      variance += (score - mean) * (score - mean);
+    }
+    System.out.printf(
+        "%-44s %2d thread(s) %,16.0f ops/s  +- %,-12.0f %s%n",
+        name,
+        threads,
+        mean,
+        Math.sqrt(variance / ITERATIONS),
+        THREADS == null ? "" : String.format("%,.0f B/op", (double) bytes.sum() / ops.sum()));
+  }
+
+  /**
+   * call the operation on all threads until the time is up
+   *
+   * @return operations per second
+   */
+  private static double loop(
+      int threads, long millis, Supplier<?> op, LongAdder bytes, LongAdder ops) {
+    LongAdder count = new LongAdder();
+    Thread[] workers = new Thread[threads];
+    long start = System.nanoTime();
+    long deadline = start + TimeUnit.MILLISECONDS.toNanos(millis);
+    for (int t = 0; t < threads; t++) {
+      workers[t] =
+          new Thread(
+              () -> {
+                long n = 0;
+                long allocated = allocatedBytes();
+                // results escape to the array, so the calls can not be optimized away
+                Object[] results = new Object[CHECK_INTERVAL];
+                do {
+                  for (int i = 0; i < CHECK_INTERVAL; i++) {
+                    results[i] = op.get();
+                  }
+                  n += CHECK_INTERVAL;
+                } while (System.nanoTime() < deadline);
+                sink = results;
+                count.add(n);
+                if (bytes != null) {
+                  bytes.add(allocatedBytes() - allocated);
+                  ops.add(n);
+                }
+              });
+      workers[t].start();
+    }
+    for (Thread worker : workers) {
+      try {
+        worker.join();
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException(e);
+      }
+    }
+    return count.sum() * 1e9 / (System.nanoTime() - start);
+  }
+
+  private static long allocatedBytes() {
+    return THREADS == null ? 0 : THREADS.getThreadAllocatedBytes(Thread.currentThread().getId());
+  }
+
+  private static com.sun.management.ThreadMXBean allocationCounter() {
+    java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+    if (threads instanceof com.sun.management.ThreadMXBean
+        && ((com.sun.management.ThreadMXBean) threads).isThreadAllocatedMemorySupported()) {
+      return (com.sun.management.ThreadMXBean) threads;
+    }
+    return null;
+  }
+}
@@ -0,0 +1,118 @@
+package com.tangtongda.open.commons.utils;
+
+import java.lang.reflect.Field;
+
+/**
+ * {@link FieldAccessorBenchmark} {@link FieldAccessor} against {@link Field#get}/{@link Field#set},
+ * for a field with getter and setter methods and a private field without them. Run the main with
+ * the test classpath
+ *
+ * @author <a href="mailto:tangtongda@gmail.com">Tino.Tang</a>
+ * @version ${project.version} - 2026/10/17
+ */
+public class FieldAccessorBenchmark {
+
+  /** bean with accessor methods */
+  public static class Bean {
+
+    private String name = "name";
+    private int count = 1;
+
+    public String getName() {
+      return name;
+    }
+
+    public void setName(String name) {
+      this.name = name;
+    }
+
+    public int getCount() {
+      return count;
+    }
+
+    public void setCount(int count) {
+      this.count = count;
+    }
+  }
+
+  /** bean without accessor methods */
+  public static class PlainBean {
+
+    private String name = "name";
+    private int count = 1;
+  }
+
+  public static void main(String[] args) throws ReflectiveOperationException {
+    run("method", new Bean());
+    run("handle", new PlainBean());
+  }
+
+  private static void run(String kind, Object bean) throws ReflectiveOperationException {
+    Field name = bean.getClass().getDeclaredField("name");
+    Field count = bean.getClass().getDeclaredField("count");
+    name.setAccessible(true);
+    count.setAccessible(true);
+    FieldAccessor nameAccessor = FieldAccessor.of(name);
+    FieldAccessor countAccessor = FieldAccessor.of(count);
+    Bench.run(kind + " Field.get", () -> get(name, bean));
+    Bench.run(kind + " FieldAccessor.get", () -> nameAccessor.get(bean));
+    Bench.run(
+        kind + " Field.set",
+        () -> {
+          set(name, bean, "value");
+          return bean;
+        });
+    Bench.run(
+        kind + " FieldAccessor.set",
+        () -> {
+          nameAccessor.set(bean, "value");
+          return bean;
+        });
+    Bench.run(kind + " Field.getInt", () -> getInt(count, bean));
+    Bench.run(kind + " FieldAccessor.getInt", () -> countAccessor.getInt(bean));
+    Bench.run(
+        kind + " Field.setInt",
+        () -> {
+          setInt(count, bean, 2);
+          return bean;
+        });
+    Bench.run(
+        kind + " FieldAccessor.setInt",
+        () -> {
+          countAccessor.setInt(bean, 2);
+          return bean;
+        });
+  }
+
+  private static Object get(Field field, Object bean) {
+    try {
+      return field.get(bean);
+    } catch (IllegalAccessException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static void set(Field field, Object bean, Object value) {
+    try {
+      field.set(bean, value);
+    } catch (IllegalAccessException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static int getInt(Field field, Object bean) {
+    try {
+      return field.getInt(bean);
+    } catch (IllegalAccessException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  private static void setInt(Field field, Object bean, int value) {
+    try {
+      field.setInt(bean, value);
+    } catch (IllegalAccessException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+}
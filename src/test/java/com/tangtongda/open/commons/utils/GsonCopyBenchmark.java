@@ -0,0 +1,47 @@
+package com.tangtongda.open.commons.utils;
+
+import com.google.gson.reflect.TypeToken;
+
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link GsonCopyBenchmark} {@link GsonUtil#deepCopyBean}, {@link GsonUtil#beanToMap} and {@link
+ * GsonUtil#mapToBean} through the json tree against the former round trip through a json string.
+ * Run the main with the test classpath
+ *
+ * @author <a href="mailto:tangtongda@gmail.com">Tino.Tang</a>
+ * @version ${project.version} - 2026/10/17
+ */
+public class GsonCopyBenchmark {
+
+  private static final Type MAP_TYPE = new TypeToken<HashMap<String, Object>>() {}.getType();
+
+  public static void main(String[] args) {
+    for (int items : new int[] {0, 3, 50}) {
+      JsonBenchmark.Order order = JsonBenchmark.order(1, items);
+      Map<String, Object> map = GsonUtil.beanToMap(order);
+      String suffix = " " + items + " items";
+      Bench.run(
+          "deepCopyBean string" + suffix,
+          () ->
+              GsonUtil.getGson()
+                  .fromJson(GsonUtil.getGson().toJson(order), JsonBenchmark.Order.class));
+      Bench.run(
+          "deepCopyBean tree" + suffix,
+          () -> GsonUtil.deepCopyBean(order, JsonBenchmark.Order.class));
+      Bench.run(
+          "beanToMap string" + suffix,
+          () -> GsonUtil.getGson().fromJson(GsonUtil.getGson().toJson(order), MAP_TYPE));
+      Bench.run("beanToMap tree" + suffix, () -> GsonUtil.beanToMap(order));
+      Bench.run(
+          "mapToBean string" + suffix,
+          () ->
+              GsonUtil.getGson()
+                  .fromJson(GsonUtil.getGson().toJson(map), JsonBenchmark.Order.class));
+      Bench.run(
+          "mapToBean tree" + suffix, () -> GsonUtil.mapToBean(map, JsonBenchmark.Order.class));
+    }
+  }
+}
@@ -0,0 +1,39 @@
+package com.tangtongda.open.commons.utils;
+
+/**
+ * {@link IdBenchmark} throughput of the time ordered ids of {@link IDUtil} against the random
+ * {@link IDUtil#uuid()} of each {@link IDUtil.UuidMode}, on one thread and on four threads. Run the
+ * main with the test classpath
+ *
+ * @author <a href="mailto:tangtongda@gmail.com">Tino.Tang</a>
+ * @version ${project.version} - 2026/10/17
+ */
+public class IdBenchmark {
+
+  public static void main(String[] args) {
+    for (int threads : new int[] {1, 4}) {
+      IDUtil.setUuidMode(IDUtil.UuidMode.SECURE);
+      Bench.run("uuid() SECURE", threads, IDUtil::uuid);
+      IDUtil.setUuidMode(IDUtil.UuidMode.THREAD_SECURE);
+      Bench.run("uuid() THREAD_SECURE", threads, IDUtil::uuid);
+      Bench.run(
+          "uuids(long[], 0, 1000) THREAD_SECURE",
+          threads,
+          () -> {
+            long[] bits = new long[2000];
+            IDUtil.uuids(bits, 0, 1000);
+            return bits;
+          });
+      IDUtil.setUuidMode(IDUtil.UuidMode.FAST);
+      Bench.run("uuid() FAST", threads, IDUtil::uuid);
+      // the time ordered ids take their random bits from the same mode
+      Bench.run("uuidV7() FAST", threads, IDUtil::uuidV7);
+      Bench.run("orderedUuid() FAST", threads, IDUtil::orderedUuid);
+      Bench.run("ulid() FAST", threads, IDUtil::ulid);
+      IDUtil.setUuidMode(IDUtil.UuidMode.SECURE);
+      Bench.run("uuidV7() SECURE", threads, IDUtil::uuidV7);
+      Bench.run("orderedUuid() SECURE", threads, IDUtil::orderedUuid);
+      Bench.run("ulid() SECURE", threads, IDUtil::ulid);
+    }
+  }
+}
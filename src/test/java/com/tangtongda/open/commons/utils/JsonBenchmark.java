@@ -0,0 +1,91 @@
+package com.tangtongda.open.commons.utils;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link JsonBenchmark} throughput of the {@link JsonUtil#GSON} and {@link JsonUtil#JACKSON}
+ * engines on a small bean and on a large array payload. Run the main with the test classpath
+ *
+ * @author <a href="mailto:tangtongda@gmail.com">Tino.Tang</a>
+ * @version ${project.version} - 2026/10/17
+ */
+public class JsonBenchmark {
+
+  /** sample bean with the usual field types */
+  static class Order {
+    long id;
+    String customer;
+    BigDecimal amount;
+    double weight;
+    boolean paid;
+    Date createTime;
+    LocalDateTime updateTime;
+    List<Item> items;
+  }
+
+  /** sample nested bean */
+  static class Item {
+    int sku;
+    String name;
+    int quantity;
+    BigDecimal price;
+  }
+
+  /**
+   * sample order
+   *
+   * @param id order id
+   * @param items item count
+   * @return order
+   */
+  static Order order(long id, int items) {
+    Order order = new Order();
+    order.id = id;
+    order.customer = "customer-" + id;
+    order.amount = new BigDecimal("1234.56");
+    order.weight = 12.5;
+    order.paid = id % 2 == 0;
+    order.createTime = new Date(1700000000000L + id * 1000);
+    order.updateTime = LocalDateTime.of(2026, 10, 17, 12, 30, 15);
+    order.items = new ArrayList<>();
+    for (int i = 0; i < items; i++) {
+      Item item = new Item();
+      item.sku = i;
+      item.name = "item-" + i;
+      item.quantity = i % 7 + 1;
+      item.price = new BigDecimal("9.99");
+      order.items.add(item);
+    }
+    return order;
+  }
+
+  public static void main(String[] args) {
+    Order small = order(1, 3);
+    List<Order> large = new ArrayList<>();
+    for (int i = 0; i < 1000; i++) {
+      large.add(order(i, 5));
+    }
+    for (JsonEngine engine : new JsonEngine[] {JsonUtil.GSON, JsonUtil.JACKSON}) {
+      String name = engine == JsonUtil.GSON ? "gson" : "jackson";
+      String smallJson = engine.beanToString(small);
+      String largeJson = engine.beanToString(large);
+      Map<String, Object> map = engine.beanToMap(small);
+      Bench.run(name + " beanToString small", () -> engine.beanToString(small));
+      Bench.run(name + " stringToBean small", () -> engine.stringToBean(smallJson, Order.class));
+      Bench.run(name + " stringToMap small", () -> engine.stringToMap(smallJson));
+      Bench.run(name + " beanToMap small", () -> engine.beanToMap(small));
+      Bench.run(name + " mapToBean small", () -> engine.mapToBean(map, Order.class));
+      Bench.run(name + " deepCopyBean small", () -> engine.deepCopyBean(small, Order.class));
+      Bench.run(name + " beanToString 1000 orders", () -> engine.beanToString(large));
+      Bench.run(
+          name + " stringToBeanList 1000 orders",
+          () -> engine.stringToBeanList(largeJson, Order.class));
+      Bench.run(name + " stringToListMaps 1000 orders", () -> engine.stringToListMaps(largeJson));
+    }
+  }
+}